@@ -1,6 +1,11 @@
 package com.hotelCare.hostelCare.config.JWTConfig;
 import com.hotelCare.hostelCare.enums.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -8,25 +13,62 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Optional;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 @Configuration
 public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
     private static final String ACCESS_TOKEN_COOKIE = "accessToken";
     private static final String ROLE_CLAIM = "role";
+    private static final String OUTCOME_METRIC = "auth.jwt.validation.outcome";
 
     private final JWTTokenGenerationLogic jwtTokenGenerationLogic;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+    private final Map<UserRole, List<GrantedAuthority>> authoritiesByRole = new EnumMap<>(UserRole.class);
 
+    private final Timer validationTimer;
+    private final Counter validCounter;
+    private final Counter expiredCounter;
+    private final Counter malformedCounter;
+    private final Counter missingCounter;
+    private final Counter revokedCounter;
 
-    public JWTAuthenticationFilter(JWTTokenGenerationLogic jwtTokenGenerationLogic) {
+    public JWTAuthenticationFilter(
+            JWTTokenGenerationLogic jwtTokenGenerationLogic,
+            RevokedTokenRegistry revokedTokenRegistry,
+            MeterRegistry meterRegistry
+    ) {
         this.jwtTokenGenerationLogic = jwtTokenGenerationLogic;
+        this.revokedTokenRegistry = revokedTokenRegistry;
+
+        for (UserRole role : UserRole.values()) {
+            authoritiesByRole.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+
+        this.validationTimer = Timer.builder("auth.jwt.validation")
+                .description("Time spent validating the access token cookie")
+                .register(meterRegistry);
+        this.validCounter = outcomeCounter(meterRegistry, "valid");
+        this.expiredCounter = outcomeCounter(meterRegistry, "expired");
+        this.malformedCounter = outcomeCounter(meterRegistry, "malformed");
+        this.missingCounter = outcomeCounter(meterRegistry, "missing");
+        this.revokedCounter = outcomeCounter(meterRegistry, "revoked");
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(OUTCOME_METRIC)
+                .description("Access token validation outcomes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @Override
@@ -36,58 +78,70 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
 
-        String token = null;
+        String token = extractToken(request.getCookies());
 
-        // Extract JWT from "accessToken" cookie
-        Cookie[] cookies = request.getCookies();
-        if (cookies != null) {
-            Optional<Cookie> jwtCookie =
-                    Arrays.stream(cookies)
-                            .filter(c -> "accessToken".equals(c.getName()))
-                            .findFirst();
+        if (token == null) {
+            missingCounter.increment();
+        } else if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            authenticate(token, request);
+        }
 
-            if (jwtCookie.isPresent()) {
-                token = jwtCookie.get().getValue();
-            }
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(String token, HttpServletRequest request) {
+        Claims claims;
+        long start = System.nanoTime();
+        try {
+            claims = jwtTokenGenerationLogic.validateToken(token);
+        } catch (ExpiredJwtException e) {
+            expiredCounter.increment();
+            return;
+        } catch (JwtException | IllegalArgumentException e) {
+            malformedCounter.increment();
+            return;
+        } finally {
+            validationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         }
 
-        if (token != null) {
-            try {
-                Claims claims = jwtTokenGenerationLogic.validateToken(token);
-                String username = claims.getSubject();
-                String roleStr = claims.get("role", String.class); // e.g. "ADMIN", "DEVOPS"
-                System.out.println("Cookies: " + Arrays.toString(request.getCookies()));
-                System.out.println("Token found? " + (token != null));
-                System.out.println("Cookies: " + Arrays.toString(request.getCookies()));
-                System.out.println("Token found? " + (token != null));
-
-
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-
-                    UserRole userRole;
-                    try {
-                        userRole = UserRole.valueOf(roleStr);
-                    } catch (IllegalArgumentException e) {
-                        userRole = UserRole.CUSTOMER;
-                    }
-                    String authority = "ROLE_" + userRole.name();
-                    UsernamePasswordAuthenticationToken authToken =
-                            new UsernamePasswordAuthenticationToken(
-                                    username,
-                                    null,
-                                    Collections.singletonList(new SimpleGrantedAuthority(authority))
-                            );
-
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                } else {
-                    System.out.println("Username is null or context already has authentication");
-                }
-            } catch (Exception e) {
-                System.out.println("Invalid JWT: " + e.getMessage());
+        String username = claims.getSubject();
+        if (username == null || JWTTokenGenerationLogic.REFRESH_TOKEN_TYPE.equals(
+                claims.get(JWTTokenGenerationLogic.TOKEN_TYPE_CLAIM, String.class))) {
+            malformedCounter.increment();
+            return;
+        }
+        if (revokedTokenRegistry.isRevoked(username, claims.getIssuedAt())) {
+            revokedCounter.increment();
+            return;
+        }
+        validCounter.increment();
+
+        UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(
+                        username,
+                        null,
+                        authoritiesByRole.get(resolveRole(claims.get(ROLE_CLAIM, String.class)))
+                );
+        authToken.setDetails(detailsSource.buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
+    private static String extractToken(Cookie[] cookies) {
+        if (cookies == null) return null;
+        for (Cookie cookie : cookies) {
+            if (ACCESS_TOKEN_COOKIE.equals(cookie.getName())) {
+                return cookie.getValue();
             }
         }
+        return null;
+    }
 
-        filterChain.doFilter(request, response);
+    private static UserRole resolveRole(String role) {
+        if (role == null) return UserRole.CUSTOMER;
+        try {
+            return UserRole.valueOf(role);
+        } catch (IllegalArgumentException e) {
+            return UserRole.CUSTOMER;
+        }
     }
 }
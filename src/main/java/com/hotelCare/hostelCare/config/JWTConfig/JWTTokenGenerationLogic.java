@@ -1,6 +1,7 @@
 package com.hotelCare.hostelCare.config.JWTConfig;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import javax.crypto.SecretKey;
@@ -10,6 +11,9 @@ import java.util.Date;
 @Configuration
 public class JWTTokenGenerationLogic {
 
+    public static final String TOKEN_TYPE_CLAIM = "type";
+    public static final String REFRESH_TOKEN_TYPE = "refresh";
+
     @Value("${jwt.secret-key}")
     private String jwtSecretKey;
 
@@ -19,34 +23,52 @@ public class JWTTokenGenerationLogic {
     @Value("${jwt.refresh-token-expiration-ms}")
     private long refreshTokenExpirationMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.claims-cache-max-size:10000}")
+    private int claimsCacheMaxSize;
+
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    private VerifiedClaimsCache verifiedClaimsCache;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecretKey.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+        verifiedClaimsCache = new VerifiedClaimsCache(claimsCacheMaxSize);
     }
 
     public String generateAccessToken(String email, String role) {
         return Jwts.builder()
                 .setSubject(email)
                 .claim("role", role)
+                .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + accessTokenExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String generateRefreshToken(String email) {
+    public String generateRefreshToken(String email, String tokenId) {
         return Jwts.builder()
                 .setSubject(email)
+                .id(tokenId)
+                .claim(TOKEN_TYPE_CLAIM, REFRESH_TOKEN_TYPE)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + refreshTokenExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public Claims validateToken(String token) throws ExpiredJwtException, JwtException {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims cached = verifiedClaimsCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims = jwtParser.parseSignedClaims(token).getPayload();
+        verifiedClaimsCache.put(token, claims);
+        return claims;
     }
 
     public String extractUsername(String token) {
@@ -57,4 +79,12 @@ public class JWTTokenGenerationLogic {
         return (int) (accessTokenExpirationMs / 1000);
     }
 
+    public long getRefreshTokenExpirationMs() {
+        return refreshTokenExpirationMs;
+    }
+
+    public int getRefreshTokenExpirationSeconds() {
+        return (int) (refreshTokenExpirationMs / 1000);
+    }
+
 }
@@ -0,0 +1,41 @@
+package com.hotelCare.hostelCare.config.JWTConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory revocation list for stateless access tokens. Instead of remembering every revoked
+ * token it keeps one cut-off per subject: any token for that subject issued before the cut-off
+ * is rejected. An entry only has to outlive the access-token lifetime, after which every token
+ * it could reject has expired anyway, so the map stays as small as the number of recent
+ * revocations. Each instance keeps its own list; refresh tokens are still checked against the
+ * database.
+ */
+@Component
+public class RevokedTokenRegistry {
+
+    private final ConcurrentHashMap<String, Long> revokedBeforeBySubject = new ConcurrentHashMap<>();
+
+    @Value("${jwt.access-token-expiration-ms}")
+    private long accessTokenExpirationMs;
+
+    public void revokeAllIssuedBefore(String subject, long epochMillis) {
+        revokedBeforeBySubject.merge(subject, epochMillis, Math::max);
+    }
+
+    public boolean isRevoked(String subject, Date issuedAt) {
+        Long revokedBefore = revokedBeforeBySubject.get(subject);
+        if (revokedBefore == null) return false;
+        if (issuedAt == null) return true;
+        // iat has second precision, so compare whole seconds
+        return issuedAt.getTime() / 1000 < revokedBefore / 1000;
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation-purge-interval-ms:60000}")
+    public void purge() {
+        long cutoff = System.currentTimeMillis() - accessTokenExpirationMs;
+        revokedBeforeBySubject.values().removeIf(revokedBefore -> revokedBefore < cutoff);
+    }
+}
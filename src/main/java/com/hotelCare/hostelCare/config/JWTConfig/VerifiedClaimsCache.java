@@ -0,0 +1,60 @@
+package com.hotelCare.hostelCare.config.JWTConfig;
+import io.jsonwebtoken.Claims;
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache of claims for tokens whose signature has already been verified.
+ * Entries are keyed by the token's signature segment, confirmed against the full token,
+ * and never outlive the token's own expiry.
+ */
+class VerifiedClaimsCache {
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    VerifiedClaimsCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    Claims get(String token) {
+        Entry entry = entries.get(signatureOf(token));
+        if (entry == null) return null;
+
+        if (entry.expiresAtMs() <= System.currentTimeMillis()) {
+            entries.remove(signatureOf(token), entry);
+            return null;
+        }
+        return constantTimeEquals(entry.token(), token) ? entry.claims() : null;
+    }
+
+    void put(String token, Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null || maxEntries <= 0) return;
+
+        if (entries.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(entry -> entry.expiresAtMs() <= now);
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(signatureOf(token), new Entry(token, claims, expiration.getTime()));
+    }
+
+    private static String signatureOf(String token) {
+        int lastDot = token.lastIndexOf('.');
+        return lastDot < 0 ? token : token.substring(lastDot + 1);
+    }
+
+    private static boolean constantTimeEquals(String a, String b) {
+        if (a.length() != b.length()) return false;
+        int diff = 0;
+        for (int i = 0; i < a.length(); i++) {
+            diff |= a.charAt(i) ^ b.charAt(i);
+        }
+        return diff == 0;
+    }
+
+    private record Entry(String token, Claims claims, long expiresAtMs) {}
+}
@@ -1,19 +1,27 @@
 package com.hotelCare.hostelCare.config.JavaMailSenderConfig;
+import com.hotelCare.hostelCare.entity.email.EmailDeadLetter;
+import com.hotelCare.hostelCare.repository.emailRepository.EmailDeadLetterRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.*;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import jakarta.annotation.PostConstruct;
 import java.net.URI;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
 @Service
 public class ElasticEmailService {
 
+    private static final URI SEND_URI = URI.create("https://api.elasticemail.com/v4/emails/transactional");
+
     @Value("${elastic.api-key}")
     private String apiKey;
 
@@ -23,75 +31,135 @@ public class ElasticEmailService {
     @Value("${elastic.from-name}")
     private String fromName;
 
+    @Value("${elastic.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${elastic.retry-backoff-ms:500}")
+    private long retryBackoffMs;
+
     private final RestTemplate restTemplate;
+    private final TaskExecutor emailTaskExecutor;
+    private final EmailDeadLetterRepository emailDeadLetterRepository;
+
+    private HttpHeaders requestHeaders;
 
-    public ElasticEmailService(RestTemplate restTemplate) {
+    public ElasticEmailService(
+            RestTemplate restTemplate,
+            @Qualifier("emailTaskExecutor") TaskExecutor emailTaskExecutor,
+            EmailDeadLetterRepository emailDeadLetterRepository
+    ) {
         this.restTemplate = restTemplate;
+        this.emailTaskExecutor = emailTaskExecutor;
+        this.emailDeadLetterRepository = emailDeadLetterRepository;
+    }
+
+    @PostConstruct
+    void init() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set("X-ElasticEmail-ApiKey", apiKey);
+        requestHeaders = HttpHeaders.readOnlyHttpHeaders(headers);
     }
 
-    @Async
     public void send2FACodeEmail(String toEmail, String code) {
-        sendEmail(toEmail, "HostelCare Account Verification: Your 2FA Security Code", build2FAHtmlContent(code));
+        submit(toEmail, "HostelCare Account Verification: Your 2FA Security Code", build2FAHtmlContent(code));
     }
 
-    @Async
     public void sendPasswordResetEmail(String toEmail, String resetCode) {
-        sendEmail(toEmail, "Password Reset Verification Code", buildPasswordResetHtmlContent(resetCode));
+        submit(toEmail, "Password Reset Verification Code", buildPasswordResetHtmlContent(resetCode));
     }
 
-    private void sendEmail(String toEmail, String subject, String htmlContent) {
-        String url = "https://api.elasticemail.com/v4/emails/transactional";
-
+    private void submit(String toEmail, String subject, String htmlContent) {
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("X-ElasticEmail-ApiKey", apiKey);
+            emailTaskExecutor.execute(() -> sendWithRetry(toEmail, subject, htmlContent));
+        } catch (TaskRejectedException e) {
+            log.error("Email queue is full, dropping email to {} with subject: {}", toEmail, subject);
+            deadLetter(toEmail, subject, 0, "Rejected: email queue is full");
+        }
+    }
 
-            Map<String, Object> emailPayload = buildEmailPayload(toEmail, subject, htmlContent);
+    private void sendWithRetry(String toEmail, String subject, String htmlContent) {
+        String lastError = null;
+
+        int attempts = 0;
+
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            attempts = attempt;
+            try {
+                sendEmail(toEmail, subject, htmlContent);
+                return;
+            } catch (HttpClientErrorException e) {
+                lastError = e.getMessage();
+                log.error("Email to {} was rejected by Elastic Email: {}", toEmail, lastError);
+                break;
+            } catch (Exception e) {
+                lastError = e.getMessage();
+                log.warn("Email to {} failed (attempt {}/{}): {}", toEmail, attempt, maxAttempts, lastError);
+            }
 
-            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(emailPayload, headers);
+            if (attempt < maxAttempts && !backoff(attempt)) {
+                break;
+            }
+        }
 
-            ResponseEntity<String> response = restTemplate.exchange(
-                    URI.create(url),  // Use URI.create() instead of passing String
-                    HttpMethod.POST,
-                    requestEntity,
-                    String.class
-            );
+        log.error("Giving up on email to {} with subject: {}", toEmail, subject);
+        deadLetter(toEmail, subject, attempts, lastError);
+    }
 
-            if (response.getStatusCode().is2xxSuccessful()) {
-                log.info("Email sent successfully to: {} with subject: {}", toEmail, subject);
-            } else {
-                log.error("Elastic Email failed: {} {}", response.getStatusCode(), response.getBody());
-            }
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs << (attempt - 1));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
 
+    private void deadLetter(String toEmail, String subject, int attempts, String error) {
+        try {
+            emailDeadLetterRepository.save(EmailDeadLetter.builder()
+                    .recipient(toEmail)
+                    .subject(subject)
+                    .attempts(attempts)
+                    .lastError(error == null ? null : error.substring(0, Math.min(error.length(), 1000)))
+                    .build());
         } catch (Exception e) {
-            log.error("Failed to send email to {}: {}", toEmail, e.getMessage(), e);
-            throw new RuntimeException("Failed to send email", e);
+            log.error("Failed to record dead-lettered email to {}: {}", toEmail, e.getMessage());
         }
     }
 
-    private Map<String, Object> buildEmailPayload(String toEmail, String subject, String htmlContent) {
-        Map<String, Object> payload = new HashMap<>();
-
-        Map<String, Object> recipients = new HashMap<>();
-        recipients.put("To", new String[]{toEmail});
-        payload.put("Recipients", recipients);
-
-        Map<String, Object> content = new HashMap<>();
-        content.put("From", fromEmail);
-        content.put("FromName", fromName);
-        content.put("Subject", subject);
-
-        // Email body
-        Map<String, String> body = new HashMap<>();
-        body.put("ContentType", "HTML");
-        body.put("Charset", "utf-8");
-        body.put("Content", htmlContent);
-
-        content.put("Body", new Object[]{body});
-        payload.put("Content", content);
+    private void sendEmail(String toEmail, String subject, String htmlContent) {
+        HttpEntity<Map<String, Object>> requestEntity =
+                new HttpEntity<>(buildEmailPayload(toEmail, subject, htmlContent), requestHeaders);
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                SEND_URI,
+                HttpMethod.POST,
+                requestEntity,
+                String.class
+        );
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException("Elastic Email failed: " + response.getStatusCode() + " " + response.getBody());
+        }
+        log.info("Email sent successfully to: {} with subject: {}", toEmail, subject);
+    }
 
-        return payload;
+    private Map<String, Object> buildEmailPayload(String toEmail, String subject, String htmlContent) {
+        return Map.of(
+                "Recipients", Map.of("To", List.of(toEmail)),
+                "Content", Map.of(
+                        "From", fromEmail,
+                        "FromName", fromName,
+                        "Subject", subject,
+                        "Body", List.of(Map.of(
+                                "ContentType", "HTML",
+                                "Charset", "utf-8",
+                                "Content", htmlContent
+                        ))
+                )
+        );
     }
 
     private String build2FAHtmlContent(String code) {
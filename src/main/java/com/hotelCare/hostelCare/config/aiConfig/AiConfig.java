@@ -1,14 +1,33 @@
 package com.hotelCare.hostelCare.config.aiConfig;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.ollama.OllamaChatModel;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 @Configuration
 public class AiConfig {
 
+    @Value("${ai.explanation.pool-size:2}")
+    private int explanationPoolSize;
+
+    @Value("${ai.explanation.queue-capacity:50}")
+    private int explanationQueueCapacity;
+
     @Bean
     public ChatClient chatClient(OllamaChatModel chatModel) {
         return ChatClient.builder(chatModel).build();
     }
-}
 
+    @Bean(name = "aiExplanationExecutor")
+    public ThreadPoolTaskExecutor aiExplanationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(explanationPoolSize);
+        executor.setMaxPoolSize(explanationPoolSize);
+        executor.setQueueCapacity(explanationQueueCapacity);
+        executor.setThreadNamePrefix("ai-explanation-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,33 +1,24 @@
 package com.hotelCare.hostelCare.config.aiConfig;
-import org.apache.hc.client5.http.config.RequestConfig;
+import io.micrometer.observation.ObservationRegistry;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
-import org.apache.hc.client5.http.impl.classic.HttpClients;
-import org.apache.hc.core5.util.Timeout;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
+import java.time.Duration;
 
 @Configuration
 public class AiHttpConfig {
 
     @Bean
-    RestClient.Builder restClientBuilder() {
-
-        RequestConfig requestConfig = RequestConfig.custom()
-                .setConnectTimeout(Timeout.ofSeconds(10))
-                .setConnectionRequestTimeout(Timeout.ofSeconds(10))
-                .setResponseTimeout(Timeout.ofSeconds(120))
-                .build();
-
-        CloseableHttpClient httpClient = HttpClients.custom()
-                .setDefaultRequestConfig(requestConfig)
-                .build();
+    RestClient.Builder restClientBuilder(CloseableHttpClient outboundHttpClient, ObservationRegistry observationRegistry) {
 
         HttpComponentsClientHttpRequestFactory requestFactory =
-                new HttpComponentsClientHttpRequestFactory(httpClient);
+                new HttpComponentsClientHttpRequestFactory(outboundHttpClient);
+        requestFactory.setReadTimeout(Duration.ofSeconds(120));
 
-        return RestClient.builder().requestFactory(requestFactory);
+        return RestClient.builder()
+                .requestFactory(requestFactory)
+                .observationRegistry(observationRegistry);
     }
 }
-
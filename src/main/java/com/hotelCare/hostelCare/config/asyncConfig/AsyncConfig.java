@@ -0,0 +1,78 @@
+package com.hotelCare.hostelCare.config.asyncConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Enables {@code @Async}. Methods run on Boot's applicationTaskExecutor, which switches to
+ * virtual threads when {@code spring.threads.virtual.enabled} is true and otherwise uses the
+ * bounded pool configured under {@code spring.task.execution}. The named executors below would
+ * normally make Boot skip that executor; {@code spring.task.execution.mode: force} keeps it.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    @Value("${elastic.executor.pool-size:2}")
+    private int emailPoolSize;
+
+    @Value("${elastic.executor.queue-capacity:200}")
+    private int emailQueueCapacity;
+
+    @Value("${payment.outbox.parallelism:8}")
+    private int paymentGatewayParallelism;
+
+    @Value("${security.password.hashing.threads:0}")
+    private int passwordHashingThreads;
+
+    @Value("${security.password.hashing.queue-capacity:64}")
+    private int passwordHashingQueueCapacity;
+
+    @Bean(name = "emailTaskExecutor")
+    public ThreadPoolTaskExecutor emailTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(emailPoolSize);
+        executor.setMaxPoolSize(emailPoolSize);
+        executor.setQueueCapacity(emailQueueCapacity);
+        executor.setThreadNamePrefix("email-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean(name = "paymentGatewayExecutor")
+    public ThreadPoolTaskExecutor paymentGatewayExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(paymentGatewayParallelism);
+        executor.setMaxPoolSize(paymentGatewayParallelism);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("payment-gateway-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /** Caps concurrent password hashes at one per core by default; a full queue is rejected, not run by the caller. */
+    @Bean(name = "passwordHashingExecutor")
+    public ThreadPoolTaskExecutor passwordHashingExecutor() {
+        int threads = passwordHashingThreads > 0 ? passwordHashingThreads : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(passwordHashingQueueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,105 @@
+package com.hotelCare.hostelCare.config.hibernateConfig;
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.query.ReturnableType;
+import org.hibernate.query.sqm.function.AbstractSqmSelfRenderingFunctionDescriptor;
+import org.hibernate.query.sqm.function.SqmFunctionRegistry;
+import org.hibernate.query.sqm.produce.function.StandardArgumentsValidators;
+import org.hibernate.query.sqm.produce.function.StandardFunctionArgumentTypeResolvers;
+import org.hibernate.query.sqm.produce.function.StandardFunctionReturnTypeResolvers;
+import org.hibernate.sql.ast.SqlAstTranslator;
+import org.hibernate.sql.ast.spi.SqlAppender;
+import org.hibernate.sql.ast.tree.SqlAstNode;
+import org.hibernate.sql.ast.tree.expression.ColumnReference;
+import org.hibernate.type.BasicType;
+import org.hibernate.type.BasicTypeRegistry;
+import org.hibernate.type.StandardBasicTypes;
+import java.util.List;
+
+/**
+ * PostgreSQL full-text functions for HQL and criteria queries. The second argument of each is a
+ * {@code to_tsquery} expression as built by {@link com.hotelCare.hostelCare.utils.FullTextSearch}.
+ * {@code fts_match} and {@code fts_rank} take the entity's id as their first argument and read the
+ * trigger-maintained {@code search_vector} column of the same table, so the vector is never mapped
+ * on the entity and never loaded with it. {@code fts_headline} HTML-escapes the text before
+ * highlighting, so the only markup in its result is the {@code <mark>} tags it adds. Registered
+ * through {@code META-INF/services}.
+ */
+public class FullTextSearchFunctionContributor implements FunctionContributor {
+
+    private static final String SEARCH_VECTOR_COLUMN = "search_vector";
+
+    private static final String HTML_ESCAPED_TEXT = "replace(replace(replace(replace(replace("
+            + "?1, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '\"', '&quot;'), '''', '&#39;')";
+
+    private static final String HEADLINE_OPTIONS = "StartSel=<mark>, StopSel=</mark>, MaxWords=25, MinWords=8, MaxFragments=2";
+
+    @Override
+    public void contributeFunctions(FunctionContributions contributions) {
+        SqmFunctionRegistry registry = contributions.getFunctionRegistry();
+        BasicTypeRegistry types = contributions.getTypeConfiguration().getBasicTypeRegistry();
+
+        registry.register("fts_match", new SearchVectorFunction(
+                "fts_match",
+                "(", " @@ to_tsquery('simple', ", "))",
+                types.resolve(StandardBasicTypes.BOOLEAN)
+        ));
+        registry.register("fts_rank", new SearchVectorFunction(
+                "fts_rank",
+                "ts_rank_cd(", ", to_tsquery('simple', ", "))",
+                types.resolve(StandardBasicTypes.DOUBLE)
+        ));
+        registry.registerPattern(
+                "fts_headline",
+                "ts_headline('simple', " + HTML_ESCAPED_TEXT + ", to_tsquery('simple', ?2), '" + HEADLINE_OPTIONS + "')",
+                types.resolve(StandardBasicTypes.STRING)
+        );
+    }
+
+    /**
+     * Renders {@code prefix <alias>.search_vector infix <tsquery> suffix}, taking the table alias
+     * from the id column passed as the first argument.
+     */
+    private static final class SearchVectorFunction extends AbstractSqmSelfRenderingFunctionDescriptor {
+
+        private final String name;
+        private final String prefix;
+        private final String infix;
+        private final String suffix;
+
+        private SearchVectorFunction(String name, String prefix, String infix, String suffix, BasicType<?> returnType) {
+            super(
+                    name,
+                    StandardArgumentsValidators.exactly(2),
+                    StandardFunctionReturnTypeResolvers.invariant(returnType),
+                    StandardFunctionArgumentTypeResolvers.NULL
+            );
+            this.name = name;
+            this.prefix = prefix;
+            this.infix = infix;
+            this.suffix = suffix;
+        }
+
+        @Override
+        public void render(
+                SqlAppender sqlAppender,
+                List<? extends SqlAstNode> arguments,
+                ReturnableType<?> returnType,
+                SqlAstTranslator<?> walker
+        ) {
+            if (!(arguments.get(0) instanceof ColumnReference id)) {
+                throw new IllegalArgumentException(name + " expects the entity id as its first argument");
+            }
+
+            sqlAppender.appendSql(prefix);
+            if (id.getQualifier() != null) {
+                sqlAppender.appendSql(id.getQualifier());
+                sqlAppender.appendSql('.');
+            }
+            sqlAppender.appendSql(SEARCH_VECTOR_COLUMN);
+            sqlAppender.appendSql(infix);
+            arguments.get(1).accept(walker);
+            sqlAppender.appendSql(suffix);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.hotelCare.hostelCare.config.hibernateConfig;
+import com.hotelCare.hostelCare.service.statistics.StatisticsListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers Spring-managed Hibernate event listeners on the session factory.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class HibernateEventConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final StatisticsListener statisticsListener;
+
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, statisticsListener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, statisticsListener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, statisticsListener);
+    }
+}
@@ -0,0 +1,25 @@
+package com.hotelCare.hostelCare.config.rateLimitConfig;
+import com.hotelCare.hostelCare.service.ratelimit.InMemoryRateLimitStore;
+import com.hotelCare.hostelCare.service.ratelimit.RateLimitStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Provides the in-process {@link RateLimitStore} unless another store bean has been defined.
+ * Registered as an auto-configuration in {@code META-INF/spring} so it is evaluated after the
+ * application's own beans and {@code @ConditionalOnMissingBean} sees any store defined there.
+ */
+@AutoConfiguration
+public class RateLimitConfig {
+
+    @Value("${rate-limit.stripes:16}")
+    private int stripes;
+
+    @Bean
+    @ConditionalOnMissingBean(RateLimitStore.class)
+    public InMemoryRateLimitStore rateLimitStore() {
+        return new InMemoryRateLimitStore(stripes);
+    }
+}
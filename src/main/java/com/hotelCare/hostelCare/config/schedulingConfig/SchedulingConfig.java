@@ -0,0 +1,7 @@
+package com.hotelCare.hostelCare.config.schedulingConfig;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
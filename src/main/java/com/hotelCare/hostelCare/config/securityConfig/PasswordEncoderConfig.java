@@ -0,0 +1,66 @@
+package com.hotelCare.hostelCare.config.securityConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Password hashing. New hashes are written as {@code {id}hash} with the encoder named by
+ * {@code security.password.encoder}; stored hashes without a prefix are the original BCrypt ones
+ * and still verify. {@link PasswordEncoder#upgradeEncoding} reports any hash that is unprefixed,
+ * uses another algorithm or a lower cost, so it can be replaced on the next successful login.
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
+    private static final String PBKDF2 = "pbkdf2";
+
+    @Value("${security.password.encoder:bcrypt}")
+    private String encoderId;
+
+    @Value("${security.password.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password.argon2.memory-kb:19456}")
+    private int argon2MemoryKb;
+
+    @Value("${security.password.argon2.iterations:2}")
+    private int argon2Iterations;
+
+    @Value("${security.password.argon2.parallelism:1}")
+    private int argon2Parallelism;
+
+    @Value("${security.password.pbkdf2.iterations:310000}")
+    private int pbkdf2Iterations;
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, bcrypt);
+        encoders.put(ARGON2, new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKb, argon2Iterations));
+        encoders.put(PBKDF2, new Pbkdf2PasswordEncoder(
+                "",
+                16,
+                pbkdf2Iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256
+        ));
+
+        if (!encoders.containsKey(encoderId)) {
+            throw new IllegalStateException("Unknown security.password.encoder '" + encoderId + "', expected one of " + encoders.keySet());
+        }
+
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder(encoderId, encoders);
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        return delegating;
+    }
+}
@@ -15,7 +15,6 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.access.AccessDeniedHandler;
@@ -32,11 +31,6 @@ public class SecurityConfig {
     @Value("${api.version}")
     private String apiVersion;
 
-    @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
         return authenticationConfiguration.getAuthenticationManager();
@@ -98,13 +92,15 @@ public class SecurityConfig {
                                 apiBasePath + "/auth/register",
                                 apiBasePath + "/auth/login",
                                 apiBasePath + "/auth/logout",
+                                apiBasePath + "/auth/refresh",
                                 apiBasePath + "/auth/verify-otp",
                                 apiBasePath + "/auth/admin-login",
                                 apiBasePath + "/auth/resend-otp",
                                 apiBasePath + "/auth/forgot-password",
                                 apiBasePath + "/auth/reset-password/*",
                                 apiBasePath + "/auth/google-login",
-                                apiBasePath + "/bookings/search-bookings"
+                                apiBasePath + "/bookings/search-bookings",
+                                apiBasePath + "/payment/webhook/stripe"
                         ).permitAll()
                         .requestMatchers(
                                 apiBasePath + "/bookings/create-booking",
@@ -112,7 +108,8 @@ public class SecurityConfig {
                                 apiBasePath + "/bookings/fetch-booking/*",
                                 apiBasePath + "/bookings/update-booking/*",
                                 apiBasePath + "/bookings/delete-booking/*",
-                                apiBasePath + "/bookings/recommend/*"
+                                apiBasePath + "/bookings/recommend/*",
+                                apiBasePath + "/bookings/recommend/explanation/*"
                         ).hasAnyRole(
                                 UserRole.CUSTOMER.name(),
                                 UserRole.SUPER_ADMIN.name()
@@ -122,12 +119,15 @@ public class SecurityConfig {
                                 apiBasePath + "/bookings/reject-booking/*",
                                 apiBasePath + "/bookings/fetch-approved-bookings",
                                 apiBasePath + "/bookings/fetch-rejected-bookings",
-                                apiBasePath + "/bookings/total-bookings"
+                                apiBasePath + "/bookings/total-bookings",
+                                apiBasePath + "/bookings/all-bookings/stream",
+                                apiBasePath + "/payment/all-payments/stream"
                                 ).hasRole(
                                 UserRole.SUPER_ADMIN.name()
                         )
                         .requestMatchers(
                                 apiBasePath + "/auth/all-users",
+                                apiBasePath + "/auth/all-users/stream",
                                 apiBasePath + "/auth/fetch-user/*",
                                 apiBasePath + "/auth/delete-user/*",
                                 apiBasePath + "/auth/block-user/*",
@@ -179,7 +179,10 @@ public class SecurityConfig {
                         .requestMatchers(
                                 apiBasePath + "/payment/update-payment-status/*",
                                 apiBasePath + "/payment/fetch-payment-by-bookingId/*",
-                                apiBasePath + "/payment/fetch-payment-by-userId/*"
+                                apiBasePath + "/payment/fetch-payment-by-userId/*",
+                                apiBasePath + "/payment/bulk/cancel",
+                                apiBasePath + "/payment/bulk/refund",
+                                apiBasePath + "/payment/bulk/jobs/*"
                         ).hasRole(
                                 UserRole.SUPER_ADMIN.name()
                         )
@@ -198,7 +201,8 @@ public class SecurityConfig {
                         .requestMatchers(
                                 apiBasePath + "/review/approve-review/*",
                                 apiBasePath + "/review/reject-review/*",
-                                apiBasePath + "/review/total-reviews"
+                                apiBasePath + "/review/total-reviews",
+                                apiBasePath + "/statistics/dashboard"
                         ).hasRole(
                                 UserRole.SUPER_ADMIN.name()
                         )
@@ -0,0 +1,35 @@
+package com.hotelCare.hostelCare.config.stripeConfig;
+import com.stripe.StripeClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Single Stripe client configured once at startup, instead of the SDK's global static key and
+ * default network settings.
+ */
+@Configuration
+public class StripeConfig {
+
+    @Value("${stripe.secret-key}")
+    private String stripeSecretKey;
+
+    @Value("${stripe.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${stripe.read-timeout-ms:20000}")
+    private int readTimeoutMs;
+
+    @Value("${stripe.max-network-retries:2}")
+    private int maxNetworkRetries;
+
+    @Bean
+    public StripeClient stripeClient() {
+        return StripeClient.builder()
+                .setApiKey(stripeSecretKey)
+                .setConnectTimeout(connectTimeoutMs)
+                .setReadTimeout(readTimeoutMs)
+                .setMaxNetworkRetries(maxNetworkRetries)
+                .build();
+    }
+}
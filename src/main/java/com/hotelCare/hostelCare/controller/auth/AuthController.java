@@ -3,9 +3,10 @@ import com.google.firebase.auth.FirebaseAuthException;
 import com.hotelCare.hostelCare.config.JWTConfig.JWTTokenGenerationLogic;
 import com.hotelCare.hostelCare.config.customResponseMessge.CustomResponseMessage;
 import com.hotelCare.hostelCare.dto.user.*;
-import com.hotelCare.hostelCare.entity.user.User;
-import com.hotelCare.hostelCare.mappers.authMapper.AuthMapper;
+import com.hotelCare.hostelCare.enums.RateLimitedAction;
+import com.hotelCare.hostelCare.service.ratelimit.AuthRateLimiter;
 import com.hotelCare.hostelCare.service.user.UserService;
+import com.hotelCare.hostelCare.utils.NdjsonStreamWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -22,6 +24,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 @RestController
@@ -31,7 +35,7 @@ import java.util.UUID;
 public class AuthController {
     private final UserService userService;
     private  final JWTTokenGenerationLogic jwtTokenGenerationLogic;
-    private final AuthMapper authMapper;
+    private final AuthRateLimiter authRateLimiter;
 
     @Operation(summary = "Register a new user account", description = "Creates a new user account and sends a 2FA OTP to the user's email for verification")
     @PostMapping("/register")
@@ -51,8 +55,10 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<CustomResponseMessage<UserResponseDto>> login(
            @Valid @RequestBody LoginRequestDto loginRequestDto,
+            HttpServletRequest request,
             HttpServletResponse response
     ) {
+        authRateLimiter.check(RateLimitedAction.LOGIN, request, loginRequestDto.email());
         UserResponseDto userResponse = userService.login(loginRequestDto, response);
 
         String message = userResponse.accountVerified()
@@ -123,8 +129,10 @@ public class AuthController {
     @PostMapping("/verify-otp")
     public ResponseEntity<CustomResponseMessage<UserResponseDto>> verifyOTP(
             @Valid @RequestBody VerifyOTP verifyOTP,
+            HttpServletRequest request,
             HttpServletResponse response
     ) {
+        authRateLimiter.check(RateLimitedAction.VERIFY_OTP, request, verifyOTP.email());
         UserResponseDto verifiedUser = userService.verifyOTP(verifyOTP, response);
         return ResponseEntity.ok(new CustomResponseMessage<>(
                 "OTP verified successfully. Account activated and ready to login.",
@@ -133,10 +141,31 @@ public class AuthController {
         ));
     }
 
-    @Operation(summary = "Logout user", description = "Logs out the user by clearing JWT tokens from cookies")
+    @Operation(summary = "Refresh access token", description = "Rotates the refresh token cookie and issues a new access token cookie without re-entering the password. Reusing an already rotated refresh token revokes all of the user's sessions")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Access token refreshed successfully"),
+            @ApiResponse(responseCode = "401", description = "Refresh token missing, invalid, expired or revoked")
+    })
+    @PostMapping("/refresh")
+    public ResponseEntity<CustomResponseMessage<UserResponseDto>> refreshAccessToken(
+            @CookieValue(name = "refreshToken", required = false) String refreshToken,
+            HttpServletResponse response
+    ) {
+        UserResponseDto user = userService.refreshAccessToken(refreshToken, response);
+        return ResponseEntity.ok(new CustomResponseMessage<>(
+                "Access token refreshed successfully",
+                HttpStatus.OK.value(),
+                user
+        ));
+    }
+
+    @Operation(summary = "Logout user", description = "Logs out the user by revoking the refresh token and clearing JWT tokens from cookies")
     @PostMapping("/logout")
-    public ResponseEntity<CustomResponseMessage<Void>> logoutUser(HttpServletResponse response) {
-        userService.logoutUser(response);
+    public ResponseEntity<CustomResponseMessage<Void>> logoutUser(
+            @CookieValue(name = "refreshToken", required = false) String refreshToken,
+            HttpServletResponse response
+    ) {
+        userService.logoutUser(refreshToken, response);
 
         return ResponseEntity.ok(new CustomResponseMessage<>(
                 "Logout successful. JWT cookies cleared.",
@@ -176,6 +205,17 @@ public class AuthController {
         );
     }
 
+    @Operation(
+            summary = "Stream all users",
+            description = "Streams every user as newline-delimited JSON (one user per line) for bulk exports."
+    )
+    @GetMapping(value = "/all-users/stream", produces = NdjsonStreamWriter.MEDIA_TYPE)
+    public void streamAllUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonStreamWriter.MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        userService.streamAllUsers(response.getOutputStream());
+    }
+
     @Operation(
             summary = "Fetch a user by ID",
             description = "Retrieve details of a specific user using their unique ID. "
@@ -316,8 +356,10 @@ public class AuthController {
     )
     @PostMapping("/resend-otp")
     public ResponseEntity<CustomResponseMessage<String>> resendOtp(
-            @Valid @RequestBody ResendOTPDto dto
+            @Valid @RequestBody ResendOTPDto dto,
+            HttpServletRequest request
     ) {
+        authRateLimiter.check(RateLimitedAction.RESEND_OTP, request, dto.email());
         userService.resentOTP(dto);
         return ResponseEntity.ok(
                 new CustomResponseMessage<>(
@@ -352,12 +394,19 @@ public class AuthController {
                     responseCode = "422",
                     description = "Validation error",
                     content = @Content(schema = @Schema())
+            ),
+            @ApiResponse(
+                    responseCode = "429",
+                    description = "Too many requests for this email or client",
+                    content = @Content(schema = @Schema())
             )
     })
     @PostMapping("/forgot-password")
     public ResponseEntity<ForgotPasswordResponseDto> forgotPassword(
-            @Valid @RequestBody ForgotPasswordDto forgotPasswordDto
+            @Valid @RequestBody ForgotPasswordDto forgotPasswordDto,
+            HttpServletRequest request
     ) {
+        authRateLimiter.check(RateLimitedAction.FORGOT_PASSWORD, request, forgotPasswordDto.email());
         String email = userService.forgotPassword(forgotPasswordDto);
 
         ForgotPasswordResponseDto response = new ForgotPasswordResponseDto(
@@ -370,7 +419,7 @@ public class AuthController {
 
     @Operation(
             summary = "Reset password",
-            description = "Resets the user's password using a reset token stored in a cookie."
+            description = "Resets the user's password using the reset code sent by the forgot-password endpoint."
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -380,7 +429,7 @@ public class AuthController {
             ),
             @ApiResponse(
                     responseCode = "400",
-                    description = "Bad request (invalid token, expired token, password mismatch, etc.)",
+                    description = "Bad request (invalid or expired code, password mismatch, etc.)",
                     content = @Content(schema = @Schema())
             ),
             @ApiResponse(
@@ -415,16 +464,31 @@ public class AuthController {
     @PostMapping("/google-login")
     @Operation(summary = "Login with Google account using Firebase token")
     public ResponseEntity<CustomResponseMessage<UserResponseDto>> loginWithGoogle(
-            @RequestBody GoogleLoginRequestDTO request
+            @RequestBody GoogleLoginRequestDTO request,
+            HttpServletResponse response
     ) throws FirebaseAuthException {
 
-        User auth = userService.loginWithGoogle(request.googleToken());
-        UserResponseDto userDto = authMapper.toUserResponseDto(auth);
+        LoginResult result = userService.loginWithGoogle(request.googleToken());
+
+        Cookie accessCookie = new Cookie("accessToken", result.accessToken());
+        accessCookie.setHttpOnly(true);
+        accessCookie.setSecure(true);
+        accessCookie.setPath("/");
+        accessCookie.setMaxAge(jwtTokenGenerationLogic.getAccessTokenExpirationSeconds());
+        response.addCookie(accessCookie);
+
+        Cookie refreshCookie = new Cookie("refreshToken", result.refreshToken());
+        refreshCookie.setHttpOnly(true);
+        refreshCookie.setSecure(true);
+        refreshCookie.setPath("/");
+        refreshCookie.setMaxAge(jwtTokenGenerationLogic.getRefreshTokenExpirationSeconds());
+        response.addCookie(refreshCookie);
+
         return ResponseEntity.ok(
                 new CustomResponseMessage<>(
                         "Login with Google successful",
                         HttpStatus.OK.value(),
-                        userDto
+                        result.user()
                 )
         );
     }
@@ -3,6 +3,7 @@ import com.hotelCare.hostelCare.config.customResponseMessge.CustomResponseMessag
 import com.hotelCare.hostelCare.dto.bookings.*;
 import com.hotelCare.hostelCare.mappers.bookingMapper.BookingMapper;
 import com.hotelCare.hostelCare.service.bookings.BookingService;
+import com.hotelCare.hostelCare.utils.NdjsonStreamWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,12 +11,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 @RestController
@@ -53,6 +57,17 @@ public class BookingController {
         return ResponseEntity.ok(new CustomResponseMessage<>(message, HttpStatus.OK.value(), bookings));
     }
 
+    @Operation(
+            summary = "Stream all bookings",
+            description = "Streams every booking as newline-delimited JSON (one booking per line) for bulk exports."
+    )
+    @GetMapping(value = "/all-bookings/stream", produces = NdjsonStreamWriter.MEDIA_TYPE)
+    public void streamAllBookings(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonStreamWriter.MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        bookingService.streamAllBookings(response.getOutputStream());
+    }
+
     @Operation(
             summary = "Fetch all approved bookings",
             description = "Returns a list of bookings with status APPROVED."
@@ -172,7 +187,9 @@ public class BookingController {
             summary = "Search bookings",
             description = """
                     Searches bookings using filters such as status, date range, customer, and supports
-                    pagination and sorting.
+                    pagination and sorting. The keyword is matched as word prefixes against name, region,
+                    country and description; keyword results are ranked by relevance unless sortBy is given
+                    and carry rank and highlight.
                     """
     )
     @GetMapping("/search-bookings")
@@ -187,11 +204,32 @@ public class BookingController {
         );
     }
 
+    @Operation(
+            summary = "Search bookings with a cursor",
+            description = """
+                    Cursor (keyset) variant of the booking search, selected with mode=cursor. Results are ordered
+                    by createdAt and id; pass the returned nextCursor to fetch the following slice. The total
+                    count is only computed when includeTotal=true.
+                    """
+    )
+    @GetMapping(value = "/search-bookings", params = "mode=cursor")
+    public ResponseEntity<CustomResponseMessage<BookingCursorPageDto>> searchBookingsByCursor(
+            @Valid @ModelAttribute BookingSearchRequestDto request
+    ) {
+        BookingCursorPageDto bookings = bookingService.searchBookingsByCursor(request);
+
+        String message = "Bookings search completed successfully.";
+        return ResponseEntity.ok(
+                new CustomResponseMessage<>(message, HttpStatus.OK.value(), bookings)
+        );
+    }
+
     @Operation(
             summary = "Recommend bookings similar to a given booking",
             description = """
                 Returns recommended bookings based on similarity to the provided bookingId
-                (region/country/guests/price) and includes an AI-generated explanation (Ollama).
+                (region/country/guests/price). The AI-generated explanation (Ollama) is produced in the
+                background; poll it with the returned explanationId.
                 """
     )
     @ApiResponses({
@@ -208,7 +246,7 @@ public class BookingController {
             @Parameter(description = "Base booking ID to generate recommendations from", required = true)
             @PathVariable UUID bookingId,
 
-            @Parameter(description = "Maximum number of recommendations to return (default: 5)")
+            @Parameter(description = "Maximum number of recommendations to return, between 1 and 50 (default: 5)")
             @RequestParam(defaultValue = "5") int limit
     ) {
         BookingRecommendationResponseDto result = bookingService.recommendBookings(bookingId, limit);
@@ -217,5 +255,30 @@ public class BookingController {
         return ResponseEntity.ok(new CustomResponseMessage<>(message, HttpStatus.OK.value(), result));
     }
 
-}
+    @Operation(
+            summary = "Fetch recommendation explanation",
+            description = """
+                Returns the AI-generated explanation for a previous recommendation request.
+                Status is PENDING while the explanation is being generated, then READY or FAILED.
+                """
+    )
+    @ApiResponses({
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Recommendation explanation retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = RecommendationExplanationDto.class))
+            ),
+            @ApiResponse(responseCode = "404", description = "Explanation not found or expired")
+    })
+    @GetMapping("/recommend/explanation/{explanationId}")
+    public ResponseEntity<CustomResponseMessage<RecommendationExplanationDto>> fetchRecommendationExplanation(
+            @Parameter(description = "Explanation ID returned by the recommendation endpoint", required = true)
+            @PathVariable UUID explanationId
+    ) {
+        RecommendationExplanationDto result = bookingService.fetchRecommendationExplanation(explanationId);
 
+        String message = "Recommendation explanation fetched successfully.";
+        return ResponseEntity.ok(new CustomResponseMessage<>(message, HttpStatus.OK.value(), result));
+    }
+
+}
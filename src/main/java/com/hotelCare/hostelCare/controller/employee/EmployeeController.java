@@ -172,7 +172,9 @@ public class EmployeeController {
 
     @Operation(
             summary = "Search employees",
-            description = "Search employees with filtering + sorting + pagination using EmployeeSearchRequest parameters."
+            description = "Search employees with filtering + sorting + pagination using EmployeeSearchRequest parameters. "
+                    + "The keyword is matched as word prefixes against name, email, phone, job title and department; "
+                    + "keyword results are ranked by relevance unless sortBy is given and carry rank and highlight."
     )
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Employees search results fetched successfully")
@@ -1,9 +1,14 @@
 package com.hotelCare.hostelCare.controller.payment;
 import com.hotelCare.hostelCare.config.customResponseMessge.CustomResponseMessage;
+import com.hotelCare.hostelCare.dto.payment.PaymentBulkJobDto;
+import com.hotelCare.hostelCare.dto.payment.PaymentBulkRequestDto;
 import com.hotelCare.hostelCare.dto.payment.PaymentRequestDto;
 import com.hotelCare.hostelCare.dto.payment.PaymentResponseDto;
 import com.hotelCare.hostelCare.dto.payment.UpdatePaymentStatusRequest;
+import com.hotelCare.hostelCare.enums.PaymentCommandType;
 import com.hotelCare.hostelCare.service.payment.PaymentService;
+import com.hotelCare.hostelCare.service.payment.StripeWebhookService;
+import com.hotelCare.hostelCare.utils.NdjsonStreamWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -11,12 +16,15 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.UUID;
 @RestController
@@ -26,6 +34,24 @@ import java.util.UUID;
 public class PaymentController {
 
     private final PaymentService paymentService;
+    private final StripeWebhookService stripeWebhookService;
+
+    @Operation(
+            summary = "Stripe webhook",
+            description = "Receives Stripe events. The signature is verified and the raw event is stored; status changes are applied asynchronously."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Event accepted"),
+            @ApiResponse(responseCode = "400", description = "Missing or invalid Stripe signature")
+    })
+    @PostMapping(value = "/webhook/stripe", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Void> handleStripeWebhook(
+            @RequestBody String payload,
+            @RequestHeader(value = "Stripe-Signature", required = false) String signature
+    ) {
+        stripeWebhookService.ingest(payload, signature);
+        return ResponseEntity.ok().build();
+    }
 
     @Operation(
             summary = "Create a payment (Stripe)",
@@ -104,6 +130,17 @@ public class PaymentController {
         return ResponseEntity.ok(body);
     }
 
+    @Operation(
+            summary = "Stream all payments",
+            description = "Streams every payment as newline-delimited JSON (one payment per line) for bulk exports."
+    )
+    @GetMapping(value = "/all-payments/stream", produces = NdjsonStreamWriter.MEDIA_TYPE)
+    public void streamAllPayments(HttpServletResponse response) throws IOException {
+        response.setContentType(NdjsonStreamWriter.MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        paymentService.streamAllPayments(response.getOutputStream());
+    }
+
     @Operation(summary = "Get payments by booking ID", description = "Fetch all payments for a given booking.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Payments fetched successfully"),
@@ -189,6 +226,63 @@ public class PaymentController {
         return ResponseEntity.ok(body);
     }
 
+    @Operation(
+            summary = "Bulk cancel payments",
+            description = "Queues cancellation for a list of payment IDs or for the payments of every booking matching a filter. Returns a job to poll for progress."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Bulk cancellation accepted"),
+            @ApiResponse(responseCode = "400", description = "Bad request")
+    })
+    @PostMapping(value = "/bulk/cancel", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CustomResponseMessage<PaymentBulkJobDto>> bulkCancelPayments(
+            @Valid @RequestBody PaymentBulkRequestDto request
+    ) {
+        PaymentBulkJobDto data = paymentService.startBulkJob(PaymentCommandType.CANCEL, request);
+
+        CustomResponseMessage<PaymentBulkJobDto> body =
+                new CustomResponseMessage<>("Bulk cancellation accepted", HttpStatus.ACCEPTED.value(), data);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(body);
+    }
+
+    @Operation(
+            summary = "Bulk refund payments",
+            description = "Queues refunds for a list of payment IDs or for the payments of every booking matching a filter. Returns a job to poll for progress."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "202", description = "Bulk refund accepted"),
+            @ApiResponse(responseCode = "400", description = "Bad request")
+    })
+    @PostMapping(value = "/bulk/refund", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CustomResponseMessage<PaymentBulkJobDto>> bulkRefundPayments(
+            @Valid @RequestBody PaymentBulkRequestDto request
+    ) {
+        PaymentBulkJobDto data = paymentService.startBulkJob(PaymentCommandType.REFUND, request);
+
+        CustomResponseMessage<PaymentBulkJobDto> body =
+                new CustomResponseMessage<>("Bulk refund accepted", HttpStatus.ACCEPTED.value(), data);
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(body);
+    }
+
+    @Operation(summary = "Get bulk payment job", description = "Returns progress of a bulk cancel or refund job.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Bulk job fetched successfully"),
+            @ApiResponse(responseCode = "404", description = "Bulk job not found")
+    })
+    @GetMapping(value = "/bulk/jobs/{jobId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<CustomResponseMessage<PaymentBulkJobDto>> getBulkJob(
+            @Parameter(description = "Bulk job ID") @PathVariable UUID jobId
+    ) {
+        PaymentBulkJobDto data = paymentService.getBulkJob(jobId);
+
+        CustomResponseMessage<PaymentBulkJobDto> body =
+                new CustomResponseMessage<>("Bulk job fetched successfully", HttpStatus.OK.value(), data);
+
+        return ResponseEntity.ok(body);
+    }
+
     @Operation(summary = "Get all payments", description = "Fetch all payments.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Payments fetched successfully")
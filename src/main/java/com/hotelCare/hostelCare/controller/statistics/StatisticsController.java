@@ -0,0 +1,41 @@
+package com.hotelCare.hostelCare.controller.statistics;
+import com.hotelCare.hostelCare.config.customResponseMessge.CustomResponseMessage;
+import com.hotelCare.hostelCare.dto.statistics.DashboardStatisticsDto;
+import com.hotelCare.hostelCare.service.statistics.DashboardStatistics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+@Tag(name = "Statistics Endpoints", description = "Aggregated counts and revenue for the admin dashboard")
+@RestController
+@RequestMapping("/api/${api.version}/statistics")
+@RequiredArgsConstructor
+public class StatisticsController {
+
+    private final DashboardStatistics dashboardStatistics;
+
+    @Operation(
+            summary = "Dashboard statistics",
+            description = "Returns entity totals, per-status counts and revenue by currency in one call. Served from in-memory counters reconciled with the database periodically."
+    )
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Dashboard statistics fetched successfully",
+                    content = @Content(schema = @Schema(implementation = DashboardStatisticsDto.class))),
+            @ApiResponse(responseCode = "403", description = "Forbidden")
+    })
+    @GetMapping("/dashboard")
+    public ResponseEntity<CustomResponseMessage<DashboardStatisticsDto>> getDashboardStatistics() {
+        DashboardStatisticsDto statistics = dashboardStatistics.snapshot();
+
+        CustomResponseMessage<DashboardStatisticsDto> body =
+                new CustomResponseMessage<>("Dashboard statistics fetched successfully", HttpStatus.OK.value(), statistics);
+
+        return ResponseEntity.ok(body);
+    }
+}
@@ -0,0 +1,9 @@
+package com.hotelCare.hostelCare.dto.bookings;
+import java.util.List;
+public record BookingCursorPageDto(
+        List<BookingResponseDto> content,
+        int size,
+        boolean hasNext,
+        String nextCursor,
+        Long totalElements
+) {}
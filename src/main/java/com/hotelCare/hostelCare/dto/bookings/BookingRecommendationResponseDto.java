@@ -1,7 +1,11 @@
 package com.hotelCare.hostelCare.dto.bookings;
+import com.hotelCare.hostelCare.enums.ExplanationStatus;
 import java.util.List;
+import java.util.UUID;
 public record BookingRecommendationResponseDto(
         BookingResponseDto baseBooking,
         List<BookingResponseDto> recommendedBookings,
+        UUID explanationId,
+        ExplanationStatus explanationStatus,
         String aiExplanation
 ) {}
@@ -1,4 +1,5 @@
 package com.hotelCare.hostelCare.dto.bookings;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.hotelCare.hostelCare.enums.BookingStatus;
 import com.hotelCare.hostelCare.enums.CancelledBookingStatus;
 import com.hotelCare.hostelCare.enums.PaymentMethodStatus;
@@ -36,6 +37,9 @@ public record BookingResponseDto(
         LocalDateTime paymentDate,
 
         Instant createdAt,
-        Instant updatedAt
+        Instant updatedAt,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL) Double rank,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String highlight
 
 ) {}
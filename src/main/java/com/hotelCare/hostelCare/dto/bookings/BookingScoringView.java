@@ -0,0 +1,11 @@
+package com.hotelCare.hostelCare.dto.bookings;
+import java.math.BigDecimal;
+import java.util.UUID;
+public record BookingScoringView(
+        UUID id,
+        String region,
+        String country,
+        Integer numberOfGuests,
+        int numberOfNights,
+        BigDecimal pricePerNight
+) {}
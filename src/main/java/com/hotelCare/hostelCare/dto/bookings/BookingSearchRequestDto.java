@@ -14,6 +14,7 @@ public record BookingSearchRequestDto(
 
         String region,
         String country,
+        String keyword,
 
         Double minPrice,
         Double maxPrice,
@@ -31,6 +32,9 @@ public record BookingSearchRequestDto(
         Integer page,
         Integer size,
         String sortBy,
-        String direction
+        String direction,
+
+        String cursor,
+        Boolean includeTotal
 
 ) {}
@@ -0,0 +1,8 @@
+package com.hotelCare.hostelCare.dto.bookings;
+import com.hotelCare.hostelCare.enums.ExplanationStatus;
+import java.util.UUID;
+public record RecommendationExplanationDto(
+        UUID explanationId,
+        ExplanationStatus status,
+        String aiExplanation
+) {}
@@ -1,4 +1,5 @@
 package com.hotelCare.hostelCare.dto.employee;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.UUID;
@@ -38,5 +39,8 @@ public record EmployeeResponseDto(
         Boolean isVerified,
 
         Instant createdAt,
-        Instant updatedAt
+        Instant updatedAt,
+
+        @JsonInclude(JsonInclude.Include.NON_NULL) Double rank,
+        @JsonInclude(JsonInclude.Include.NON_NULL) String highlight
 ) {}
@@ -0,0 +1,6 @@
+package com.hotelCare.hostelCare.dto.payment;
+import com.hotelCare.hostelCare.enums.OutboxStatus;
+public record OutboxStatusCount(
+        OutboxStatus status,
+        long count
+) {}
@@ -0,0 +1,16 @@
+package com.hotelCare.hostelCare.dto.payment;
+import com.hotelCare.hostelCare.enums.BulkJobStatus;
+import com.hotelCare.hostelCare.enums.PaymentCommandType;
+import java.time.Instant;
+import java.util.UUID;
+public record PaymentBulkJobDto(
+        UUID jobId,
+        PaymentCommandType type,
+        BulkJobStatus status,
+        int requested,
+        int skipped,
+        long pending,
+        long completed,
+        long failed,
+        Instant createdAt
+) {}
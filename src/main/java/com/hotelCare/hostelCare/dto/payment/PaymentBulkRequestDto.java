@@ -0,0 +1,15 @@
+package com.hotelCare.hostelCare.dto.payment;
+import com.hotelCare.hostelCare.dto.bookings.BookingSearchRequestDto;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+public record PaymentBulkRequestDto(
+
+        List<UUID> paymentIds,
+
+        BookingSearchRequestDto bookingFilter,
+
+        @Size(max = 600, message = "Reason too long")
+        String reason
+
+) {}
@@ -0,0 +1,16 @@
+package com.hotelCare.hostelCare.dto.payment;
+import com.hotelCare.hostelCare.enums.PaymentCommandType;
+import java.util.UUID;
+public record PaymentCommand(
+        UUID eventId,
+        UUID paymentId,
+        PaymentCommandType type,
+        String idempotencyKey,
+        long amountInSmallestUnit,
+        String currency,
+        String description,
+        UUID bookingId,
+        UUID userId,
+        String stripePaymentIntentId,
+        String stripeChargeId
+) {}
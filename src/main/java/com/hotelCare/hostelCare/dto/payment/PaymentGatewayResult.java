@@ -0,0 +1,8 @@
+package com.hotelCare.hostelCare.dto.payment;
+import com.hotelCare.hostelCare.enums.PaymentStatus;
+public record PaymentGatewayResult(
+        PaymentStatus status,
+        String stripePaymentIntentId,
+        String stripeChargeId,
+        String providerMessage
+) {}
@@ -0,0 +1,7 @@
+package com.hotelCare.hostelCare.dto.search;
+import java.util.UUID;
+public record SearchHighlight(
+        UUID id,
+        Double rank,
+        String highlight
+) {}
@@ -0,0 +1,6 @@
+package com.hotelCare.hostelCare.dto.statistics;
+import com.hotelCare.hostelCare.enums.BookingStatus;
+public record BookingStatusCount(
+        BookingStatus status,
+        long count
+) {}
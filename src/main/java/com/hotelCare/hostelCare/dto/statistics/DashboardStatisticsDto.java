@@ -0,0 +1,26 @@
+package com.hotelCare.hostelCare.dto.statistics;
+import com.hotelCare.hostelCare.enums.BookingStatus;
+import com.hotelCare.hostelCare.enums.PaymentCurrency;
+import com.hotelCare.hostelCare.enums.PaymentStatus;
+import com.hotelCare.hostelCare.enums.ReviewStatus;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+public record DashboardStatisticsDto(
+
+        long totalBookings,
+        long totalPayments,
+        long totalUsers,
+        long totalReviews,
+        long totalEmployees,
+        long totalProfiles,
+
+        Map<BookingStatus, Long> bookingsByStatus,
+        Map<PaymentStatus, Long> paymentsByStatus,
+        Map<PaymentCurrency, Long> paymentsByCurrency,
+        Map<PaymentCurrency, BigDecimal> revenueByCurrency,
+        Map<ReviewStatus, Long> reviewsByStatus,
+
+        Instant lastReconciledAt
+
+) {}
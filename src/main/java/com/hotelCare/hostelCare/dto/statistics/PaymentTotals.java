@@ -0,0 +1,10 @@
+package com.hotelCare.hostelCare.dto.statistics;
+import com.hotelCare.hostelCare.enums.PaymentCurrency;
+import com.hotelCare.hostelCare.enums.PaymentStatus;
+import java.math.BigDecimal;
+public record PaymentTotals(
+        PaymentStatus status,
+        PaymentCurrency currency,
+        long count,
+        BigDecimal amount
+) {}
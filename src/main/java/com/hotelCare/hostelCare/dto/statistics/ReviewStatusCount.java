@@ -0,0 +1,6 @@
+package com.hotelCare.hostelCare.dto.statistics;
+import com.hotelCare.hostelCare.enums.ReviewStatus;
+public record ReviewStatusCount(
+        ReviewStatus status,
+        long count
+) {}
@@ -5,6 +5,9 @@ import jakarta.validation.constraints.Pattern;
 
 public record ResetPasswordDto(
 
+        @NotBlank(message = "Reset code must be provided")
+        String code,
+
         @NotBlank(message = "Password must be provided")
         @Pattern(
                 regexp = "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&#])[A-Za-z\\d@$!%*?&#]{8,}$",
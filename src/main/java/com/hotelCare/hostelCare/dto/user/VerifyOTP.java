@@ -1,6 +1,11 @@
 package com.hotelCare.hostelCare.dto.user;
+import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 public record VerifyOTP(
+        @NotBlank(message = "Email must be provided")
+        @Email(message = "Email is required")
+        String email,
+
         @NotBlank(message = "Two-factor code is required")
         String twoFactorCode
 ) {
@@ -0,0 +1,45 @@
+package com.hotelCare.hostelCare.entity.payment;
+import com.hotelCare.hostelCare.enums.PaymentCommandType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+@Table(name = "payment_bulk_jobs")
+@Entity
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentBulkJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30, updatable = false)
+    private PaymentCommandType commandType;
+
+    @Column(length = 600)
+    private String reason;
+
+    @Column(nullable = false)
+    private Integer requested;
+
+    @Column(nullable = false)
+    private Integer queued;
+
+    @Column(nullable = false)
+    private Integer appliedDirectly;
+
+    @Column(nullable = false)
+    private Integer skipped;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -0,0 +1,71 @@
+package com.hotelCare.hostelCare.entity.payment;
+import com.hotelCare.hostelCare.enums.OutboxStatus;
+import com.hotelCare.hostelCare.enums.PaymentCommandType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+@Table(
+        name = "payment_outbox_events",
+        indexes = {
+                @Index(name = "idx_payment_outbox_status_next_attempt", columnList = "status, next_attempt_at"),
+                @Index(name = "idx_payment_outbox_payment_id", columnList = "payment_id"),
+                @Index(name = "idx_payment_outbox_job_id", columnList = "job_id")
+        }
+)
+@Entity
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "payment_id", nullable = false, updatable = false)
+    private UUID paymentId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30, updatable = false)
+    private PaymentCommandType commandType;
+
+    @Column(name = "idempotency_key", nullable = false, unique = true, updatable = false, length = 100)
+    private String idempotencyKey;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status;
+
+    @Column(length = 600)
+    private String reason;
+
+    @Column(name = "job_id")
+    private UUID jobId;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    @Column(name = "retry_generation", nullable = false)
+    private Integer retryGeneration;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private Instant nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @UpdateTimestamp
+    @Column(nullable = false)
+    private Instant updatedAt;
+}
@@ -0,0 +1,38 @@
+package com.hotelCare.hostelCare.entity.payment;
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.Instant;
+
+/**
+ * Append-only log of verified Stripe webhook deliveries. Rows are inserted once per Stripe
+ * event id and only {@code processedAt} is ever updated afterwards.
+ */
+@Table(
+        name = "stripe_webhook_events",
+        indexes = {
+                @Index(name = "idx_stripe_webhook_events_unprocessed", columnList = "processed_at, received_at")
+        }
+)
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StripeWebhookEvent {
+
+    @Id
+    @Column(name = "event_id", nullable = false, updatable = false)
+    private String eventId;
+
+    @Column(nullable = false, updatable = false, length = 100)
+    private String type;
+
+    @Column(nullable = false, updatable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(name = "received_at", nullable = false, updatable = false)
+    private Instant receivedAt;
+
+    @Column(name = "processed_at")
+    private Instant processedAt;
+}
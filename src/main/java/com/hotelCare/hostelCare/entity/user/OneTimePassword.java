@@ -0,0 +1,54 @@
+package com.hotelCare.hostelCare.entity.user;
+import com.hotelCare.hostelCare.enums.OtpPurpose;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The current one-time code of a user for one purpose. Only an HMAC of the code is stored and a
+ * lookup is always by user, so two users holding the same six digits can never be confused.
+ */
+@Table(
+        name = "one_time_passwords",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_one_time_passwords_user_purpose", columnNames = {"user_id", "purpose"})
+        },
+        indexes = {
+                @Index(name = "idx_one_time_passwords_expires_at", columnList = "expires_at")
+        }
+)
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OneTimePassword {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(nullable = false, updatable = false)
+    private UUID id;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, updatable = false, length = 30)
+    private OtpPurpose purpose;
+
+    @Column(name = "code_hash", nullable = false, length = 64)
+    private String codeHash;
+
+    @Column(name = "attempts_left", nullable = false)
+    private Integer attemptsLeft;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+}
@@ -7,6 +7,8 @@ import com.hotelCare.hostelCare.enums.AccountStatus;
 import com.hotelCare.hostelCare.enums.UserRole;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 import java.time.Instant;
@@ -16,6 +18,7 @@ import java.util.List;
 import java.util.UUID;
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -79,26 +82,10 @@ public class User {
     @Column
     private LocalDateTime magicLinkExpiresAt;
 
-    @JsonIgnore
-    @Column
-    private String twoFactorCode;
-
-    @JsonIgnore
-    @Column
-    private LocalDateTime twoFactorExpiryTime;
-
-    @Builder.Default
-    @Column(nullable = false)
-    private Integer twoFactorAttemptsLeft = 0;
-
     @Builder.Default
     @Column(nullable = false)
     private Integer failedLoginAttempts = 0;
 
-    @JsonIgnore
-    @Column
-    private LocalDateTime otpExpiresAt;
-
     @JsonIgnore
     @OneToMany(
             mappedBy = "user",
@@ -116,14 +103,6 @@ public class User {
     )
     private Profile profile;
 
-    @JsonIgnore
-    @Column(length = 1000)
-    private String accessToken;
-
-    @JsonIgnore
-    @Column(length = 1000)
-    private String refreshToken;
-
     @CreationTimestamp
     @Column(updatable = false, nullable = false)
     private Instant createdAt;
@@ -139,7 +118,6 @@ public class User {
         if (isAccountConfirmed == null) isAccountConfirmed = false;
         if (isAccountVerified == null) isAccountVerified = false;
         if (failedLoginAttempts == null) failedLoginAttempts = 0;
-        if (twoFactorAttemptsLeft == null) twoFactorAttemptsLeft = 0;
         if (role == null) role = UserRole.CUSTOMER;
         if (status == null) status = AccountStatus.PENDING;
     }
@@ -0,0 +1,6 @@
+package com.hotelCare.hostelCare.enums;
+public enum BulkJobStatus {
+    RUNNING,
+    COMPLETED,
+    COMPLETED_WITH_ERRORS
+}
@@ -0,0 +1,7 @@
+package com.hotelCare.hostelCare.enums;
+
+public enum ExplanationStatus {
+    PENDING,
+    READY,
+    FAILED
+}
@@ -0,0 +1,5 @@
+package com.hotelCare.hostelCare.enums;
+public enum OtpPurpose {
+    ACCOUNT_VERIFICATION,
+    PASSWORD_RESET
+}
@@ -0,0 +1,7 @@
+package com.hotelCare.hostelCare.enums;
+public enum OutboxStatus {
+    PENDING,
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED
+}
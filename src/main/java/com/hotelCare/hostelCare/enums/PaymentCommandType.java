@@ -0,0 +1,6 @@
+package com.hotelCare.hostelCare.enums;
+public enum PaymentCommandType {
+    CREATE_INTENT,
+    CANCEL,
+    REFUND
+}
@@ -0,0 +1,7 @@
+package com.hotelCare.hostelCare.enums;
+public enum RateLimitedAction {
+    LOGIN,
+    VERIFY_OTP,
+    RESEND_OTP,
+    FORGOT_PASSWORD
+}
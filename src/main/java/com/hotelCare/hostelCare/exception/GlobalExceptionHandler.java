@@ -1,5 +1,6 @@
 package com.hotelCare.hostelCare.exception;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -138,6 +139,24 @@ public class GlobalExceptionHandler {
         );
     }
 
+    // -------------------- 429 TOO MANY REQUESTS --------------------
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ExceptionResponse> handleTooManyRequestsException(
+            TooManyRequestsException ex,
+            HttpServletRequest request
+    ) {
+        ResponseEntity<ExceptionResponse> response = buildResponse(
+                ex.getMessage(),
+                "Too many requests, retry after the indicated delay",
+                HttpStatus.TOO_MANY_REQUESTS,
+                "TOO_MANY_REQUESTS",
+                request
+        );
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response.getBody());
+    }
+
     // -------------------- 500 INTERNAL SERVER ERROR --------------------
     @ExceptionHandler(InternalServerErrorException.class)
     public ResponseEntity<ExceptionResponse> handleInternalServerError(
@@ -0,0 +1,26 @@
+package com.hotelCare.hostelCare.exception;
+
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message) {
+        this(message, 1);
+    }
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+    public TooManyRequestsException(String message, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = 1;
+    }
+    public TooManyRequestsException(Throwable cause) {
+        super(cause);
+        this.retryAfterSeconds = 1;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
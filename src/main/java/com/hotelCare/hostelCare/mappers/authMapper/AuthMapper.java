@@ -21,13 +21,7 @@ public interface AuthMapper {
     @Mapping(target = "isAccountVerified", constant = "false")
     @Mapping(target = "magicLinkToken", ignore = true)
     @Mapping(target = "magicLinkExpiresAt", ignore = true)
-    @Mapping(target = "twoFactorCode", ignore = true)
-    @Mapping(target = "twoFactorExpiryTime", ignore = true)
-    @Mapping(target = "twoFactorAttemptsLeft", ignore = true)
     @Mapping(target = "failedLoginAttempts", ignore = true)
-    @Mapping(target = "otpExpiresAt", ignore = true)
-    @Mapping(target = "accessToken", ignore = true)
-    @Mapping(target = "refreshToken", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     User toUser(AuthRequestDto dto);
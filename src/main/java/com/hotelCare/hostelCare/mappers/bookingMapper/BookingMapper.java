@@ -2,6 +2,7 @@ package com.hotelCare.hostelCare.mappers.bookingMapper;
 import com.hotelCare.hostelCare.dto.bookings.BookingRequestDto;
 import com.hotelCare.hostelCare.dto.bookings.BookingResponseDto;
 import com.hotelCare.hostelCare.dto.bookings.BookingUpdateRequestDto;
+import com.hotelCare.hostelCare.dto.search.SearchHighlight;
 import com.hotelCare.hostelCare.entity.booking.Booking;
 import org.mapstruct.*;
 import java.math.BigDecimal;
@@ -33,8 +34,15 @@ public interface BookingMapper {
             @MappingTarget Booking booking
     );
 
+    @Mapping(target = "rank", ignore = true)
+    @Mapping(target = "highlight", ignore = true)
     BookingResponseDto toResponseDto(Booking booking);
 
+    @Mapping(target = "id", source = "booking.id")
+    @Mapping(target = "rank", source = "highlight.rank")
+    @Mapping(target = "highlight", source = "highlight.highlight")
+    BookingResponseDto toSearchResultDto(Booking booking, SearchHighlight highlight);
+
 
     default BigDecimal calculateSubtotal(BookingRequestDto dto) {
         return dto.pricePerNight()
@@ -1,11 +1,18 @@
 package com.hotelCare.hostelCare.mappers.employeeMapper;
 import com.hotelCare.hostelCare.dto.employee.EmployeeRequestDto;
 import com.hotelCare.hostelCare.dto.employee.EmployeeResponseDto;
+import com.hotelCare.hostelCare.dto.search.SearchHighlight;
 import com.hotelCare.hostelCare.entity.employee.Employee;
 import org.mapstruct.*;
 @Mapper(componentModel = "spring")
 public interface EmployeeMapper {
+    @Mapping(target = "rank", ignore = true)
+    @Mapping(target = "highlight", ignore = true)
     EmployeeResponseDto toResponseDto(Employee employee);
+    @Mapping(target = "id", source = "employee.id")
+    @Mapping(target = "rank", source = "highlight.rank")
+    @Mapping(target = "highlight", source = "highlight.highlight")
+    EmployeeResponseDto toSearchResultDto(Employee employee, SearchHighlight highlight);
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
@@ -1,11 +1,82 @@
 package com.hotelCare.hostelCare.repository.bookingRepository;
+import com.hotelCare.hostelCare.dto.bookings.BookingResponseDto;
+import com.hotelCare.hostelCare.dto.bookings.BookingScoringView;
+import com.hotelCare.hostelCare.dto.search.SearchHighlight;
+import com.hotelCare.hostelCare.dto.statistics.BookingStatusCount;
 import com.hotelCare.hostelCare.entity.booking.Booking;
 import com.hotelCare.hostelCare.enums.BookingStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 public interface BookingRepository extends JpaRepository<Booking, UUID>, JpaSpecificationExecutor<Booking> {
   List<Booking> findByStatus(BookingStatus status);
-}
 
+  @Query("""
+      SELECT new com.hotelCare.hostelCare.dto.bookings.BookingScoringView(
+          b.id, b.region, b.country, b.numberOfGuests, b.numberOfNights, b.pricePerNight
+      )
+      FROM Booking b
+      WHERE b.status = :status
+  """)
+  List<BookingScoringView> findScoringViewsByStatus(@Param("status") BookingStatus status);
+
+  @Query("""
+      SELECT new com.hotelCare.hostelCare.dto.bookings.BookingResponseDto(
+          b.id, b.name, b.imageUrl, b.description, b.region, b.country,
+          b.checkInDate, b.checkOutDate, b.numberOfNights, b.numberOfGuests, b.numberOfRooms,
+          b.pricePerNight, b.subtotal, b.taxAmount, b.discountAmount, b.totalAmount,
+          b.status, b.isCancelled, b.paymentMethod, b.isPaid, b.paymentDate,
+          b.createdAt, b.updatedAt,
+          cast(null as Double), cast(null as String)
+      )
+      FROM Booking b
+      WHERE b.status = :status
+  """)
+  List<BookingResponseDto> findResponseDtosByStatus(@Param("status") BookingStatus status);
+
+  @Query("""
+      SELECT new com.hotelCare.hostelCare.dto.bookings.BookingResponseDto(
+          b.id, b.name, b.imageUrl, b.description, b.region, b.country,
+          b.checkInDate, b.checkOutDate, b.numberOfNights, b.numberOfGuests, b.numberOfRooms,
+          b.pricePerNight, b.subtotal, b.taxAmount, b.discountAmount, b.totalAmount,
+          b.status, b.isCancelled, b.paymentMethod, b.isPaid, b.paymentDate,
+          b.createdAt, b.updatedAt,
+          cast(null as Double), cast(null as String)
+      )
+      FROM Booking b
+  """)
+  List<BookingResponseDto> findAllResponseDtos();
+
+  @Query("""
+      SELECT new com.hotelCare.hostelCare.dto.statistics.BookingStatusCount(b.status, COUNT(b))
+      FROM Booking b
+      GROUP BY b.status
+  """)
+  List<BookingStatusCount> countGroupedByStatus();
+
+  @Query("""
+      SELECT new com.hotelCare.hostelCare.dto.search.SearchHighlight(
+          b.id,
+          fts_rank(b.id, :tsQuery),
+          fts_headline(concat(b.name, ' - ', b.region, ', ', b.country, ' ', coalesce(b.description, '')), :tsQuery)
+      )
+      FROM Booking b
+      WHERE b.id IN :ids
+  """)
+  List<SearchHighlight> findSearchHighlights(@Param("ids") Collection<UUID> ids, @Param("tsQuery") String tsQuery);
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  @Query("SELECT b FROM Booking b")
+  Stream<Booking> streamAll();
+}
@@ -0,0 +1,7 @@
+package com.hotelCare.hostelCare.repository.emailRepository;
+import com.hotelCare.hostelCare.entity.email.EmailDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.UUID;
+
+public interface EmailDeadLetterRepository extends JpaRepository<EmailDeadLetter, UUID> {
+}
@@ -1,10 +1,15 @@
 package com.hotelCare.hostelCare.repository.employeeRepository;
+import com.hotelCare.hostelCare.dto.search.SearchHighlight;
 import com.hotelCare.hostelCare.entity.employee.Employee;
 import com.hotelCare.hostelCare.utils.EmployeeSearchRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 @Repository
 public interface EmployeeRepository extends JpaRepository<Employee, UUID>, JpaSpecificationExecutor<Employee> {
@@ -15,4 +20,15 @@ public interface EmployeeRepository extends JpaRepository<Employee, UUID>, JpaSp
                 request.toPageable()
         );
     }
+
+    @Query("""
+        SELECT new com.hotelCare.hostelCare.dto.search.SearchHighlight(
+            e.id,
+            fts_rank(e.id, :tsQuery),
+            fts_headline(concat(e.firstName, ' ', e.lastName, ' - ', e.jobTitle, ', ', e.department, ' ', e.email, ' ', coalesce(e.phoneNumber, '')), :tsQuery)
+        )
+        FROM Employee e
+        WHERE e.id IN :ids
+    """)
+    List<SearchHighlight> findSearchHighlights(@Param("ids") Collection<UUID> ids, @Param("tsQuery") String tsQuery);
 }
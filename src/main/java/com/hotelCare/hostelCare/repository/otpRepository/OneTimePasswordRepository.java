@@ -0,0 +1,31 @@
+package com.hotelCare.hostelCare.repository.otpRepository;
+import com.hotelCare.hostelCare.entity.user.OneTimePassword;
+import com.hotelCare.hostelCare.enums.OtpPurpose;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OneTimePasswordRepository extends JpaRepository<OneTimePassword, UUID> {
+
+    Optional<OneTimePassword> findByUserIdAndPurpose(UUID userId, OtpPurpose purpose);
+
+    /**
+     * Spends one attempt in a single statement, so concurrent guesses cannot use more attempts
+     * than the code allows. Returns 0 once no attempts are left.
+     */
+    @Modifying
+    @Query("UPDATE OneTimePassword o SET o.attemptsLeft = o.attemptsLeft - 1 WHERE o.id = :id AND o.attemptsLeft > 0")
+    int decrementAttempts(@Param("id") UUID id);
+
+    @Modifying
+    @Query("DELETE FROM OneTimePassword o WHERE o.userId = :userId")
+    int deleteByUserId(@Param("userId") UUID userId);
+
+    @Modifying
+    @Query("DELETE FROM OneTimePassword o WHERE o.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,7 @@
+package com.hotelCare.hostelCare.repository.paymentRepository;
+import com.hotelCare.hostelCare.entity.payment.PaymentBulkJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import java.util.UUID;
+
+public interface PaymentBulkJobRepository extends JpaRepository<PaymentBulkJob, UUID> {
+}
@@ -0,0 +1,52 @@
+package com.hotelCare.hostelCare.repository.paymentRepository;
+import com.hotelCare.hostelCare.dto.payment.OutboxStatusCount;
+import com.hotelCare.hostelCare.entity.payment.PaymentOutboxEvent;
+import com.hotelCare.hostelCare.enums.OutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PaymentOutboxRepository extends JpaRepository<PaymentOutboxEvent, UUID> {
+
+    Optional<PaymentOutboxEvent> findByIdempotencyKey(String idempotencyKey);
+
+    List<PaymentOutboxEvent> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
+
+    long countByPaymentIdInAndStatusIn(Collection<UUID> paymentIds, Collection<OutboxStatus> statuses);
+
+    @Query("""
+        SELECT new com.hotelCare.hostelCare.dto.payment.OutboxStatusCount(e.status, COUNT(e))
+        FROM PaymentOutboxEvent e
+        WHERE e.jobId = :jobId
+        GROUP BY e.status
+    """)
+    List<OutboxStatusCount> countByJobGroupedByStatus(@Param("jobId") UUID jobId);
+
+    /**
+     * Claims due events with {@code FOR UPDATE SKIP LOCKED} (lock timeout -2), so several
+     * dispatcher instances can poll the same table without blocking on each other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+        SELECT e FROM PaymentOutboxEvent e
+        WHERE e.status IN :statuses
+          AND e.nextAttemptAt <= :now
+        ORDER BY e.nextAttemptAt
+    """)
+    List<PaymentOutboxEvent> findDueForUpdate(
+            @Param("statuses") Collection<OutboxStatus> statuses,
+            @Param("now") Instant now,
+            Pageable pageable
+    );
+}
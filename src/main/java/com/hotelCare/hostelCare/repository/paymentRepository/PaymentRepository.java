@@ -1,16 +1,72 @@
 package com.hotelCare.hostelCare.repository.paymentRepository;
+import com.hotelCare.hostelCare.dto.payment.PaymentResponseDto;
+import com.hotelCare.hostelCare.dto.statistics.PaymentTotals;
 import com.hotelCare.hostelCare.entity.payment.Payment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 public interface PaymentRepository extends JpaRepository<Payment, UUID> {
 
     Optional<Payment> findByReference(String reference);
 
-    List<Payment> findByUserId(UUID userId);
+    boolean existsByBookingId(UUID bookingId);
 
-    List<Payment> findByBookingId(UUID bookingId);
+    List<Payment> findByBookingIdIn(Collection<UUID> bookingIds);
 
-    boolean existsByBookingId(UUID bookingId);
+    @Query("""
+        SELECT new com.hotelCare.hostelCare.dto.payment.PaymentResponseDto(
+            p.id, p.booking.id, p.user.id, p.amount, CAST(p.currency AS String),
+            p.provider, p.status, p.purpose, p.method, p.reference,
+            p.stripePaymentIntentId, p.stripeChargeId, p.paypalOrderId, p.paypalCaptureId,
+            p.providerMessage, p.paidAt, p.cancelledAt, p.refundedAt, p.createdAt, p.updatedAt
+        )
+        FROM Payment p
+    """)
+    List<PaymentResponseDto> findAllResponseDtos();
+
+    @Query("""
+        SELECT new com.hotelCare.hostelCare.dto.payment.PaymentResponseDto(
+            p.id, p.booking.id, p.user.id, p.amount, CAST(p.currency AS String),
+            p.provider, p.status, p.purpose, p.method, p.reference,
+            p.stripePaymentIntentId, p.stripeChargeId, p.paypalOrderId, p.paypalCaptureId,
+            p.providerMessage, p.paidAt, p.cancelledAt, p.refundedAt, p.createdAt, p.updatedAt
+        )
+        FROM Payment p
+        WHERE p.user.id = :userId
+    """)
+    List<PaymentResponseDto> findResponseDtosByUserId(@Param("userId") UUID userId);
+
+    @Query("""
+        SELECT new com.hotelCare.hostelCare.dto.payment.PaymentResponseDto(
+            p.id, p.booking.id, p.user.id, p.amount, CAST(p.currency AS String),
+            p.provider, p.status, p.purpose, p.method, p.reference,
+            p.stripePaymentIntentId, p.stripeChargeId, p.paypalOrderId, p.paypalCaptureId,
+            p.providerMessage, p.paidAt, p.cancelledAt, p.refundedAt, p.createdAt, p.updatedAt
+        )
+        FROM Payment p
+        WHERE p.booking.id = :bookingId
+    """)
+    List<PaymentResponseDto> findResponseDtosByBookingId(@Param("bookingId") UUID bookingId);
+
+    @Query("""
+        SELECT new com.hotelCare.hostelCare.dto.statistics.PaymentTotals(p.status, p.currency, COUNT(p), COALESCE(SUM(p.amount), 0))
+        FROM Payment p
+        GROUP BY p.status, p.currency
+    """)
+    List<PaymentTotals> totalsGroupedByStatusAndCurrency();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Payment p")
+    Stream<Payment> streamAll();
 }
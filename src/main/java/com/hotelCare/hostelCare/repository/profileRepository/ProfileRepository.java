@@ -1,9 +1,13 @@
 package com.hotelCare.hostelCare.repository.profileRepository;
 import com.hotelCare.hostelCare.entity.profile.Profile;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import java.util.Optional;
 import java.util.UUID;
 public interface ProfileRepository extends JpaRepository<Profile, UUID> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Profile> findByUserId(UUID uuid);
     boolean existsByUserId(UUID userId);
 }
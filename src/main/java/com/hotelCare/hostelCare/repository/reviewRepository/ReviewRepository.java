@@ -1,7 +1,11 @@
 package com.hotelCare.hostelCare.repository.reviewRepository;
+import com.hotelCare.hostelCare.dto.review.ReviewResponseDto;
+import com.hotelCare.hostelCare.dto.statistics.ReviewStatusCount;
 import com.hotelCare.hostelCare.entity.review.Review;
 import com.hotelCare.hostelCare.enums.ReviewStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,11 +14,35 @@ public interface ReviewRepository extends JpaRepository<Review, UUID> {
 
     boolean existsByBookingId(UUID bookingId);
 
-    List<Review> findAllByStatusAndDeletedFalse(ReviewStatus status);
-
-    List<Review> findAllByDeletedFalse();
-
     Optional<Review> findByIdAndDeletedFalse(UUID id);
 
     long countByDeletedFalse();
+
+    @Query("""
+        SELECT new com.hotelCare.hostelCare.dto.statistics.ReviewStatusCount(r.status, COUNT(r))
+        FROM Review r
+        WHERE r.deleted = false
+        GROUP BY r.status
+    """)
+    List<ReviewStatusCount> countGroupedByStatus();
+
+    @Query("""
+        SELECT new com.hotelCare.hostelCare.dto.review.ReviewResponseDto(
+            r.id, r.booking.id, r.user.id, r.rating, r.comment, r.verified,
+            r.status, r.helpfulCount, r.anonymous, r.createdAt, r.updatedAt
+        )
+        FROM Review r
+        WHERE r.deleted = false
+    """)
+    List<ReviewResponseDto> findAllResponseDtos();
+
+    @Query("""
+        SELECT new com.hotelCare.hostelCare.dto.review.ReviewResponseDto(
+            r.id, r.booking.id, r.user.id, r.rating, r.comment, r.verified,
+            r.status, r.helpfulCount, r.anonymous, r.createdAt, r.updatedAt
+        )
+        FROM Review r
+        WHERE r.status = :status AND r.deleted = false
+    """)
+    List<ReviewResponseDto> findResponseDtosByStatus(@Param("status") ReviewStatus status);
 }
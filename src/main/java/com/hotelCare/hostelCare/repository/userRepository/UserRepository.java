@@ -1,20 +1,27 @@
 package com.hotelCare.hostelCare.repository.userRepository;
 import com.hotelCare.hostelCare.entity.user.User;
 import com.hotelCare.hostelCare.enums.UserRole;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 public interface UserRepository extends JpaRepository<User, UUID> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
-    Optional<User> findByTwoFactorCode(String twoFactorCode);
-
     boolean existsByEmail(String email);
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.profile")
+    List<User> findAllWithProfile();
+
     @Query("""
         SELECT u FROM User u
+        LEFT JOIN FETCH u.profile
         WHERE (:role IS NULL OR u.role = :role)
           AND (:active IS NULL OR u.isAccountActive = :active)
           AND (:confirmed IS NULL OR u.isAccountConfirmed = :confirmed)
@@ -28,4 +35,11 @@ public interface UserRepository extends JpaRepository<User, UUID> {
             @Param("blocked") Boolean blocked,
             @Param("email") String email
     );
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.profile")
+    Stream<User> streamAllWithProfile();
 }
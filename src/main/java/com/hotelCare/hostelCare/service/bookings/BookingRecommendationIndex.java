@@ -0,0 +1,292 @@
+package com.hotelCare.hostelCare.service.bookings;
+import com.hotelCare.hostelCare.dto.bookings.BookingScoringView;
+import com.hotelCare.hostelCare.entity.booking.Booking;
+import com.hotelCare.hostelCare.enums.BookingStatus;
+import com.hotelCare.hostelCare.repository.bookingRepository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory scoring index over APPROVED bookings, bucketed by country and region.
+ * Buckets are visited from the best possible location score downwards, so a top-K query
+ * stops as soon as no remaining bucket can beat the current heap minimum.
+ * Commits on this instance are applied as they happen; changes made elsewhere (other instances,
+ * bulk SQL, webhook batches) are picked up by the periodic rebuild.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingRecommendationIndex {
+
+    private static final int REGION_SCORE = 40;
+    private static final int COUNTRY_SCORE = 30;
+    private static final int MAX_ATTRIBUTE_SCORE = 50;
+    private static final int NO_GUESTS = Integer.MIN_VALUE;
+    private static final long NO_PRICE = Long.MIN_VALUE;
+
+    private final BookingRepository bookingRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Bucket> buckets = new HashMap<>();
+    private final Map<UUID, Bucket> bucketsByBookingId = new HashMap<>();
+
+    /** Updates committed while a rebuild is reading; replayed over the fresh snapshot. Guarded by {@link #lock}. */
+    private List<Runnable> updatesDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(
+            initialDelayString = "${bookings.recommendation.rebuild-interval-ms:300000}",
+            fixedDelayString = "${bookings.recommendation.rebuild-interval-ms:300000}"
+    )
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            updatesDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<BookingScoringView> approved;
+        try {
+            approved = bookingRepository.findScoringViewsByStatus(BookingStatus.APPROVED);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                updatesDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            buckets.clear();
+            bucketsByBookingId.clear();
+            approved.forEach(this::put);
+            replayed = updatesDuringRebuild.size();
+            updatesDuringRebuild.forEach(Runnable::run);
+            updatesDuringRebuild = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Booking recommendation index built with {} approved bookings ({} updates replayed)",
+                approved.size(), replayed);
+    }
+
+    public void index(Booking booking) {
+        if (booking.getStatus() != BookingStatus.APPROVED) {
+            remove(booking.getId());
+            return;
+        }
+
+        BookingScoringView view = new BookingScoringView(
+                booking.getId(),
+                booking.getRegion(),
+                booking.getCountry(),
+                booking.getNumberOfGuests(),
+                booking.getNumberOfNights(),
+                booking.getPricePerNight()
+        );
+        afterCommit(() -> apply(() -> put(view)));
+    }
+
+    public void remove(UUID bookingId) {
+        afterCommit(() -> apply(() -> evict(bookingId)));
+    }
+
+    private void apply(Runnable update) {
+        lock.writeLock().lock();
+        try {
+            update.run();
+            if (updatesDuringRebuild != null) {
+                updatesDuringRebuild.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<UUID> topMatches(Booking base, int limit) {
+        String region = normalize(base.getRegion());
+        String country = normalize(base.getCountry());
+        int guests = base.getNumberOfGuests() == null ? NO_GUESTS : base.getNumberOfGuests();
+        long price = toCents(base.getPricePerNight());
+        int nights = base.getNumberOfNights();
+
+        PriorityQueue<Candidate> heap = new PriorityQueue<>(limit + 1, Comparator.comparingInt(Candidate::score));
+
+        lock.readLock().lock();
+        try {
+            List<Bucket> ordered = new ArrayList<>(buckets.values());
+            ordered.sort(Comparator.comparingInt((Bucket b) -> b.locationScore(region, country)).reversed());
+
+            for (Bucket bucket : ordered) {
+                int locationScore = bucket.locationScore(region, country);
+                if (heap.size() == limit && heap.peek().score() >= locationScore + MAX_ATTRIBUTE_SCORE) {
+                    break;
+                }
+
+                for (int i = 0; i < bucket.size; i++) {
+                    if (bucket.ids[i].equals(base.getId())) continue;
+
+                    int score = locationScore + attributeScore(
+                            guests, bucket.guests[i],
+                            price, bucket.prices[i],
+                            nights, bucket.nights[i]
+                    );
+
+                    if (heap.size() < limit) {
+                        heap.offer(new Candidate(bucket.ids[i], score));
+                    } else if (score > heap.peek().score()) {
+                        heap.poll();
+                        heap.offer(new Candidate(bucket.ids[i], score));
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Candidate> ranked = new ArrayList<>(heap);
+        ranked.sort(Comparator.comparingInt(Candidate::score).reversed());
+        return ranked.stream().map(Candidate::bookingId).toList();
+    }
+
+    private int attributeScore(int baseGuests, int guests, long basePrice, long price, int baseNights, int nights) {
+        int score = 0;
+
+        if (baseGuests != NO_GUESTS && guests != NO_GUESTS) {
+            score += Math.max(0, 20 - Math.abs(baseGuests - guests) * 4);
+        }
+
+        if (basePrice != NO_PRICE && price != NO_PRICE) {
+            score += (int) Math.max(0, 20 - Math.abs(basePrice - price) / 1000);
+        }
+
+        score += Math.max(0, 10 - Math.abs(baseNights - nights));
+        return score;
+    }
+
+    private void put(BookingScoringView view) {
+        evict(view.id());
+
+        String region = normalize(view.region());
+        String country = normalize(view.country());
+        Bucket bucket = buckets.computeIfAbsent(country + '\u0000' + region, key -> new Bucket(region, country));
+        bucket.add(
+                view.id(),
+                view.numberOfGuests() == null ? NO_GUESTS : view.numberOfGuests(),
+                view.numberOfNights(),
+                toCents(view.pricePerNight())
+        );
+        bucketsByBookingId.put(view.id(), bucket);
+    }
+
+    private void evict(UUID bookingId) {
+        Bucket bucket = bucketsByBookingId.remove(bookingId);
+        if (bucket != null) {
+            bucket.remove(bookingId);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount == null ? NO_PRICE : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private record Candidate(UUID bookingId, int score) {}
+
+    private static final class Bucket {
+        private final String region;
+        private final String country;
+        private final Map<UUID, Integer> slots = new HashMap<>();
+        private UUID[] ids = new UUID[8];
+        private int[] guests = new int[8];
+        private int[] nights = new int[8];
+        private long[] prices = new long[8];
+        private int size;
+
+        private Bucket(String region, String country) {
+            this.region = region;
+            this.country = country;
+        }
+
+        private int locationScore(String baseRegion, String baseCountry) {
+            int score = 0;
+            if (region != null && region.equals(baseRegion)) score += REGION_SCORE;
+            if (country != null && country.equals(baseCountry)) score += COUNTRY_SCORE;
+            return score;
+        }
+
+        private void add(UUID id, int guestCount, int nightCount, long priceCents) {
+            if (size == ids.length) {
+                int capacity = size * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                guests = Arrays.copyOf(guests, capacity);
+                nights = Arrays.copyOf(nights, capacity);
+                prices = Arrays.copyOf(prices, capacity);
+            }
+            ids[size] = id;
+            guests[size] = guestCount;
+            nights[size] = nightCount;
+            prices[size] = priceCents;
+            slots.put(id, size);
+            size++;
+        }
+
+        private void remove(UUID id) {
+            Integer slot = slots.remove(id);
+            if (slot == null) return;
+
+            int last = --size;
+            if (slot != last) {
+                ids[slot] = ids[last];
+                guests[slot] = guests[last];
+                nights[slot] = nights[last];
+                prices[slot] = prices[last];
+                slots.put(ids[slot], slot);
+            }
+            ids[last] = null;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.hotelCare.hostelCare.service.bookings;
 import com.hotelCare.hostelCare.dto.bookings.*;
+import com.hotelCare.hostelCare.dto.search.SearchHighlight;
 import com.hotelCare.hostelCare.entity.booking.Booking;
 import com.hotelCare.hostelCare.entity.user.User;
 import com.hotelCare.hostelCare.enums.BookingStatus;
@@ -9,24 +10,32 @@ import com.hotelCare.hostelCare.exception.NotFoundException;
 import com.hotelCare.hostelCare.mappers.bookingMapper.BookingMapper;
 import com.hotelCare.hostelCare.repository.bookingRepository.BookingRepository;
 import com.hotelCare.hostelCare.repository.userRepository.UserRepository;
+import com.hotelCare.hostelCare.service.statistics.EntityCounters;
+import com.hotelCare.hostelCare.utils.BookingCursor;
 import com.hotelCare.hostelCare.utils.BookingSpecification;
-import jakarta.transaction.Transactional;
+import com.hotelCare.hostelCare.utils.FullTextSearch;
+import com.hotelCare.hostelCare.utils.NdjsonStreamWriter;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
-import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
-import java.util.Comparator;
 import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 @Service
 @RequiredArgsConstructor
 @Transactional
@@ -34,77 +43,14 @@ public class BookingService {
     private final BookingRepository bookingRepository;
     private  final BookingMapper bookingMapper;
     private final UserRepository userRepository;
-    private final ChatClient chatClient;
+    private final RecommendationExplanationService explanationService;
+    private final BookingRecommendationIndex recommendationIndex;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+    private final EntityManager entityManager;
+    private final EntityCounters entityCounters;
 
-    private int similarityScore(Booking base, Booking other) {
-        int score = 0;
-
-        if (safeEqualsIgnoreCase(base.getRegion(), other.getRegion())) score += 40;
-        if (safeEqualsIgnoreCase(base.getCountry(), other.getCountry())) score += 30;
-
-        if (base.getNumberOfGuests() != null && other.getNumberOfGuests() != null) {
-            int diff = Math.abs(base.getNumberOfGuests() - other.getNumberOfGuests());
-            score += Math.max(0, 20 - diff * 4);
-        }
-
-        if (base.getPricePerNight() != null && other.getPricePerNight() != null) {
-            double diff = base.getPricePerNight().subtract(other.getPricePerNight()).abs().doubleValue();
-            score += Math.max(0, 20 - (int) (diff / 10));
-        }
-
-        score += Math.max(0, 10 - Math.abs(base.getNumberOfNights() - other.getNumberOfNights()));
-
-        return score;
-    }
-
-    private boolean safeEqualsIgnoreCase(String a, String b) {
-        if (a == null || b == null) return false;
-        return a.trim().equalsIgnoreCase(b.trim());
-    }
-
-
-    private String generateRecommendationExplanation(Booking base, List<Booking> recommendations) {
-        try {
-
-            String recSummary = recommendations.stream()
-                    .map(b -> "- " + b.getName() + " | " + b.getRegion() + ", " + b.getCountry()
-                            + " | guests=" + b.getNumberOfGuests()
-                            + " | pricePerNight=" + b.getPricePerNight())
-                    .reduce("", (acc, line) -> acc + line + "\n");
-
-            String template = """
-                    You are a hotel booking recommendation assistant.
-                    
-                    Base booking:
-                    - name: {name}
-                    - region: {region}
-                    - country: {country}
-                    - guests: {guests}
-                    - nights: {nights}
-                    - pricePerNight: {price}
-                    
-                    Candidate recommendations:
-                    {recommendations}
-                    
-                    Task:
-                    1) In 2-4 sentences, explain WHY these recommendations fit the base booking.
-                    2) Keep it short and user-friendly.
-                    """;
-
-            Prompt prompt = new PromptTemplate(template).create(Map.of(
-                    "name", base.getName(),
-                    "region", base.getRegion(),
-                    "country", base.getCountry(),
-                    "guests", String.valueOf(base.getNumberOfGuests()),
-                    "nights", String.valueOf(base.getNumberOfNights()),
-                    "price", String.valueOf(base.getPricePerNight()),
-                    "recommendations", recSummary.isBlank() ? "- (none)" : recSummary
-            ));
-            return chatClient.prompt(prompt).call().content();
-        } catch (Exception e) {
-            return "Recommendations are based on similar location, guests, nights, and price. (AI explanation unavailable right now.)";
-        }
-    }
+    private static final int MAX_CURSOR_PAGE_SIZE = 200;
+    private static final int MAX_RECOMMENDATIONS = 50;
 
     public BookingResponseDto createBooking(BookingRequestDto bookingRequestDto) {
         Booking booking = bookingMapper.toEntity(bookingRequestDto);
@@ -125,26 +71,25 @@ public class BookingService {
         return bookingMapper.toResponseDto(savedBooking);
     }
 
+    @Transactional(readOnly = true)
     public  List<BookingResponseDto> fetchAllApprovedBookings() {
-        List<Booking> bookings = bookingRepository.findByStatus(BookingStatus.APPROVED);
-        return  bookings
-                .stream()
-                .map(bookingMapper::toResponseDto)
-                .toList();
+        return bookingRepository.findResponseDtosByStatus(BookingStatus.APPROVED);
     }
 
+    @Transactional(readOnly = true)
     public  List<BookingResponseDto> fetchAllRejectedBookings() {
-        List<Booking> bookings = bookingRepository.findByStatus(BookingStatus.REJECTED);
-        return  bookings
-                .stream()
-                .map(bookingMapper::toResponseDto).toList();
+        return bookingRepository.findResponseDtosByStatus(BookingStatus.REJECTED);
     }
 
+    @Transactional(readOnly = true)
     public List<BookingResponseDto> fetchAllBookings() {
-       return  bookingRepository.findAll()
-               .stream()
-               .map(bookingMapper::toResponseDto)
-               .toList();
+       return bookingRepository.findAllResponseDtos();
+    }
+
+    public long streamAllBookings(OutputStream out) throws IOException {
+        try (Stream<Booking> bookings = bookingRepository.streamAll()) {
+            return ndjsonStreamWriter.write(bookings, bookingMapper::toResponseDto, entityManager::detach, out);
+        }
     }
 
     public  BookingResponseDto fetchBooking(UUID bookingId) {
@@ -160,6 +105,7 @@ public class BookingService {
         );
         bookingMapper.updateBookingFromDto(bookingUpdateRequestDto, booking);
         Booking updatedBooking = bookingRepository.save(booking);
+        recommendationIndex.index(updatedBooking);
         return  bookingMapper.toResponseDto(updatedBooking);
     }
 
@@ -168,6 +114,7 @@ public class BookingService {
                 () -> new NotFoundException("Booking not found with ID:" + bookingId)
         );
         bookingRepository.delete(booking);
+        recommendationIndex.remove(bookingId);
     }
 
     public BookingResponseDto approveBooking(UUID bookingId) {
@@ -180,6 +127,7 @@ public class BookingService {
 
         booking.setStatus(BookingStatus.APPROVED);
         Booking savedBooking = bookingRepository.save(booking);
+        recommendationIndex.index(savedBooking);
 
         return bookingMapper.toResponseDto(savedBooking);
     }
@@ -198,32 +146,86 @@ public class BookingService {
         booking.setCancellationReason(rejectionReason);
 
         Booking savedBooking = bookingRepository.save(booking);
+        recommendationIndex.index(savedBooking);
         return bookingMapper.toResponseDto(savedBooking);
     }
 
     public  long totalBookings() {
-        return bookingRepository.count();
+        return entityCounters.count(Booking.class);
     }
 
+    @Transactional(readOnly = true)
     public Page<BookingResponseDto> searchBookings(BookingSearchRequestDto request) {
 
         int page = request.page() == null ? 0 : request.page();
         int size = request.size() == null ? 10 : request.size();
-        String sortBy = (request.sortBy() == null || request.sortBy().isBlank()) ? "createdAt" : request.sortBy();
-        String direction = (request.direction() == null || request.direction().isBlank()) ? "DESC" : request.direction();
+        String tsQuery = FullTextSearch.toTsQuery(request.keyword());
+
+        Specification<Booking> spec = BookingSpecification.search(request);
+        Sort sort = Sort.unsorted();
 
-        Sort sort = direction.equalsIgnoreCase("DESC")
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
+        if (FullTextSearch.sortsByRelevance(tsQuery, request.sortBy())) {
+            spec = spec.and(BookingSpecification.rankedBy(tsQuery));
+        } else {
+            String sortBy = (request.sortBy() == null || request.sortBy().isBlank()) ? "createdAt" : request.sortBy();
+            String direction = (request.direction() == null || request.direction().isBlank()) ? "DESC" : request.direction();
+
+            sort = direction.equalsIgnoreCase("DESC")
+                    ? Sort.by(sortBy).descending()
+                    : Sort.by(sortBy).ascending();
+        }
 
         Pageable pageable = PageRequest.of(page, size, sort);
 
-        Page<Booking> bookings = bookingRepository.findAll(
-                BookingSpecification.search(request),
-                pageable
-        );
+        Page<Booking> bookings = bookingRepository.findAll(spec, pageable);
 
-        return bookings.map(bookingMapper::toResponseDto);
+        Map<UUID, SearchHighlight> highlights = tsQuery == null || bookings.isEmpty()
+                ? Map.of()
+                : bookingRepository.findSearchHighlights(bookings.map(Booking::getId).getContent(), tsQuery)
+                        .stream()
+                        .collect(Collectors.toMap(SearchHighlight::id, Function.identity()));
+
+        return bookings.map(booking -> bookingMapper.toSearchResultDto(booking, highlights.get(booking.getId())));
+    }
+
+    public BookingCursorPageDto searchBookingsByCursor(BookingSearchRequestDto request) {
+
+        int size = request.size() == null ? 10 : request.size();
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        boolean descending = request.direction() == null
+                || request.direction().isBlank()
+                || request.direction().equalsIgnoreCase("DESC");
+
+        Sort sort = descending
+                ? Sort.by("createdAt").descending().and(Sort.by("id").descending())
+                : Sort.by("createdAt").ascending().and(Sort.by("id").ascending());
+
+        Specification<Booking> filter = BookingSpecification.search(request);
+        Specification<Booking> spec = filter;
+        if (request.cursor() != null && !request.cursor().isBlank()) {
+            spec = spec.and(BookingSpecification.after(BookingCursor.decode(request.cursor()), descending));
+        }
+
+        List<Booking> rows = bookingRepository.findBy(spec, query -> query.sortBy(sort).limit(size + 1).all());
+
+        boolean hasNext = rows.size() > size;
+        List<Booking> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? BookingCursor.of(content.get(content.size() - 1)).encode() : null;
+
+        Long totalElements = Boolean.TRUE.equals(request.includeTotal())
+                ? bookingRepository.count(filter)
+                : null;
+
+        return new BookingCursorPageDto(
+                content.stream().map(bookingMapper::toResponseDto).toList(),
+                content.size(),
+                hasNext,
+                nextCursor,
+                totalElements
+        );
     }
 
     public BookingRecommendationResponseDto recommendBookings(UUID bookingId, int limit) {
@@ -231,26 +233,33 @@ public class BookingService {
         Booking base = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not found with ID: " + bookingId));
 
-        List<Booking> candidates = bookingRepository.findByStatus(BookingStatus.APPROVED)
+        List<UUID> topIds = recommendationIndex.topMatches(base, Math.clamp(limit, 1, MAX_RECOMMENDATIONS));
+        Map<UUID, Booking> byId = bookingRepository.findAllById(topIds)
                 .stream()
-                .filter(b -> !b.getId().equals(base.getId()))
-                .toList();
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
 
-        List<Booking> top = candidates.stream()
-                .sorted(Comparator.<Booking>comparingInt(b -> similarityScore(base, b)).reversed())
-                .limit(Math.max(1, limit))
+        List<Booking> top = topIds.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .toList();
 
         List<BookingResponseDto> topDtos = top.stream()
                 .map(bookingMapper::toResponseDto)
                 .toList();
 
-        String aiExplanation = generateRecommendationExplanation(base, top);
+        BookingResponseDto baseDto = bookingMapper.toResponseDto(base);
+        RecommendationExplanationDto explanation = explanationService.requestExplanation(baseDto, topDtos);
 
         return new BookingRecommendationResponseDto(
-                bookingMapper.toResponseDto(base),
+                baseDto,
                 topDtos,
-                aiExplanation
+                explanation.explanationId(),
+                explanation.status(),
+                explanation.aiExplanation()
         );
     }
+
+    public RecommendationExplanationDto fetchRecommendationExplanation(UUID explanationId) {
+        return explanationService.fetchExplanation(explanationId);
+    }
 }
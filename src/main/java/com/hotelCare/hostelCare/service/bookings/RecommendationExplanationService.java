@@ -0,0 +1,181 @@
+package com.hotelCare.hostelCare.service.bookings;
+import com.hotelCare.hostelCare.dto.bookings.BookingResponseDto;
+import com.hotelCare.hostelCare.dto.bookings.RecommendationExplanationDto;
+import com.hotelCare.hostelCare.enums.ExplanationStatus;
+import com.hotelCare.hostelCare.exception.NotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.chat.prompt.PromptTemplate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Generates recommendation explanations off the request thread and caches them by a
+ * fingerprint of the base booking plus the recommended booking ids. A failed explanation is only
+ * kept for the short failure TTL, so a later request for the same recommendations tries again.
+ */
+@Slf4j
+@Service
+public class RecommendationExplanationService {
+
+    private static final String FALLBACK_EXPLANATION =
+            "Recommendations are based on similar location, guests, nights, and price. (AI explanation unavailable right now.)";
+
+    private static final String TEMPLATE = """
+            You are a hotel booking recommendation assistant.
+
+            Base booking:
+            - name: {name}
+            - region: {region}
+            - country: {country}
+            - guests: {guests}
+            - nights: {nights}
+            - pricePerNight: {price}
+
+            Candidate recommendations:
+            {recommendations}
+
+            Task:
+            1) In 2-4 sentences, explain WHY these recommendations fit the base booking.
+            2) Keep it short and user-friendly.
+            """;
+
+    private final ChatClient chatClient;
+    private final TaskExecutor executor;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Duration failureTtl;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<UUID, CachedExplanation> cache = new LinkedHashMap<>(16, 0.75f, true);
+
+    public RecommendationExplanationService(
+            ChatClient chatClient,
+            @Qualifier("aiExplanationExecutor") TaskExecutor executor,
+            @Value("${ai.explanation.cache-max-size:500}") int maxEntries,
+            @Value("${ai.explanation.cache-ttl:30m}") Duration ttl,
+            @Value("${ai.explanation.failure-ttl:30s}") Duration failureTtl
+    ) {
+        this.chatClient = chatClient;
+        this.executor = executor;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.failureTtl = failureTtl;
+    }
+
+    public RecommendationExplanationDto requestExplanation(BookingResponseDto base, List<BookingResponseDto> recommendations) {
+        UUID explanationId = fingerprint(base, recommendations);
+
+        lock.lock();
+        try {
+            CachedExplanation cached = liveEntry(explanationId);
+            if (cached != null) {
+                return cached.toDto(explanationId);
+            }
+            store(explanationId, new CachedExplanation(ExplanationStatus.PENDING, null, Instant.now().plus(ttl)));
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            executor.execute(() -> generate(explanationId, base, recommendations));
+        } catch (TaskRejectedException e) {
+            log.warn("AI explanation queue is full, returning fallback for {}", explanationId);
+            complete(explanationId, ExplanationStatus.FAILED, FALLBACK_EXPLANATION);
+        }
+
+        return fetchExplanation(explanationId);
+    }
+
+    public RecommendationExplanationDto fetchExplanation(UUID explanationId) {
+        lock.lock();
+        try {
+            CachedExplanation cached = liveEntry(explanationId);
+            if (cached == null) {
+                throw new NotFoundException("Recommendation explanation not found or expired with ID: " + explanationId);
+            }
+            return cached.toDto(explanationId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void generate(UUID explanationId, BookingResponseDto base, List<BookingResponseDto> recommendations) {
+        try {
+            String recSummary = recommendations.stream()
+                    .map(b -> "- " + b.name() + " | " + b.region() + ", " + b.country()
+                            + " | guests=" + b.numberOfGuests()
+                            + " | pricePerNight=" + b.pricePerNight())
+                    .reduce("", (acc, line) -> acc + line + "\n");
+
+            Prompt prompt = new PromptTemplate(TEMPLATE).create(Map.of(
+                    "name", base.name(),
+                    "region", base.region(),
+                    "country", base.country(),
+                    "guests", String.valueOf(base.numberOfGuests()),
+                    "nights", String.valueOf(base.numberOfNights()),
+                    "price", String.valueOf(base.pricePerNight()),
+                    "recommendations", recSummary.isBlank() ? "- (none)" : recSummary
+            ));
+            complete(explanationId, ExplanationStatus.READY, chatClient.prompt(prompt).call().content());
+        } catch (Exception e) {
+            log.warn("AI explanation failed for {}: {}", explanationId, e.getMessage());
+            complete(explanationId, ExplanationStatus.FAILED, FALLBACK_EXPLANATION);
+        }
+    }
+
+    private void complete(UUID explanationId, ExplanationStatus status, String explanation) {
+        lock.lock();
+        try {
+            Duration entryTtl = status == ExplanationStatus.FAILED ? failureTtl : ttl;
+            store(explanationId, new CachedExplanation(status, explanation, Instant.now().plus(entryTtl)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private CachedExplanation liveEntry(UUID explanationId) {
+        CachedExplanation cached = cache.get(explanationId);
+        if (cached == null) return null;
+        if (cached.expiresAt().isBefore(Instant.now())) {
+            cache.remove(explanationId);
+            return null;
+        }
+        return cached;
+    }
+
+    private void store(UUID explanationId, CachedExplanation entry) {
+        cache.put(explanationId, entry);
+
+        Iterator<CachedExplanation> it = cache.values().iterator();
+        while (it.hasNext() && cache.size() > maxEntries) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private UUID fingerprint(BookingResponseDto base, List<BookingResponseDto> recommendations) {
+        StringBuilder key = new StringBuilder(base.id().toString());
+        recommendations.forEach(b -> key.append(':').append(b.id()));
+        return UUID.nameUUIDFromBytes(key.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private record CachedExplanation(ExplanationStatus status, String explanation, Instant expiresAt) {
+        RecommendationExplanationDto toDto(UUID explanationId) {
+            return new RecommendationExplanationDto(explanationId, status, explanation);
+        }
+    }
+}
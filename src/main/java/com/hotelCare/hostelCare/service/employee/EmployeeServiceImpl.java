@@ -3,11 +3,13 @@ import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 import com.hotelCare.hostelCare.dto.employee.EmployeeRequestDto;
 import com.hotelCare.hostelCare.dto.employee.EmployeeResponseDto;
+import com.hotelCare.hostelCare.dto.search.SearchHighlight;
 import com.hotelCare.hostelCare.entity.employee.Employee;
 import com.hotelCare.hostelCare.exception.BadRequestException;
 import com.hotelCare.hostelCare.exception.NotFoundException;
 import com.hotelCare.hostelCare.mappers.employeeMapper.EmployeeMapper;
 import com.hotelCare.hostelCare.repository.employeeRepository.EmployeeRepository;
+import com.hotelCare.hostelCare.service.statistics.EntityCounters;
 import com.hotelCare.hostelCare.service.storage.FileStorageService;
 import com.hotelCare.hostelCare.utils.EmployeeSearchRequest;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +20,8 @@ import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -27,6 +31,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     private final EmployeeMapper employeeMapper;
     private final FileStorageService fileStorageService;
     private final Cloudinary cloudinary;
+    private final EntityCounters entityCounters;
 
     public EmployeeResponseDto addEmployee(EmployeeRequestDto dto, MultipartFile profilePicture) {
 
@@ -102,13 +107,22 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     @Transactional(readOnly = true)
     public long totalEmployees() {
-        return employeeRepository.count();
+        return entityCounters.count(Employee.class);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<EmployeeResponseDto> searchEmployees(EmployeeSearchRequest request) {
-        return employeeRepository.search(request).map(employeeMapper::toResponseDto);
+        Page<Employee> employees = employeeRepository.search(request);
+
+        String tsQuery = request.toTsQuery();
+        Map<UUID, SearchHighlight> highlights = tsQuery == null || employees.isEmpty()
+                ? Map.of()
+                : employeeRepository.findSearchHighlights(employees.map(Employee::getId).getContent(), tsQuery)
+                        .stream()
+                        .collect(Collectors.toMap(SearchHighlight::id, Function.identity()));
+
+        return employees.map(employee -> employeeMapper.toSearchResultDto(employee, highlights.get(employee.getId())));
     }
 
     private String uploadToCloudinary(MultipartFile file) {
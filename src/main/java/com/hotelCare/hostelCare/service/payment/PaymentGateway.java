@@ -0,0 +1,14 @@
+package com.hotelCare.hostelCare.service.payment;
+import com.hotelCare.hostelCare.dto.payment.PaymentCommand;
+import com.hotelCare.hostelCare.dto.payment.PaymentGatewayResult;
+import com.stripe.exception.StripeException;
+
+/**
+ * Provider side of the payment outbox. Implementations must not touch the database and must
+ * honour {@link PaymentCommand#idempotencyKey()}; errors are reported as Stripe exceptions so the
+ * dispatcher can classify them as retriable or permanent.
+ */
+public interface PaymentGateway {
+
+    PaymentGatewayResult execute(PaymentCommand command) throws StripeException;
+}
@@ -0,0 +1,257 @@
+package com.hotelCare.hostelCare.service.payment;
+import com.hotelCare.hostelCare.dto.payment.PaymentCommand;
+import com.hotelCare.hostelCare.dto.payment.PaymentGatewayResult;
+import com.hotelCare.hostelCare.entity.payment.Payment;
+import com.hotelCare.hostelCare.entity.payment.PaymentOutboxEvent;
+import com.hotelCare.hostelCare.enums.OutboxStatus;
+import com.hotelCare.hostelCare.enums.PaymentCommandType;
+import com.hotelCare.hostelCare.enums.PaymentStatus;
+import com.hotelCare.hostelCare.repository.paymentRepository.PaymentOutboxRepository;
+import com.hotelCare.hostelCare.repository.paymentRepository.PaymentRepository;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.RateLimitException;
+import com.stripe.exception.StripeException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the payment outbox: claims due commands in a short transaction, calls Stripe with no
+ * transaction open and bounded parallelism, then applies the whole batch of results in one
+ * short transaction so the updates go out as JDBC batches. If that transaction fails, each result
+ * is applied on its own so one bad row cannot undo the rest of the batch.
+ */
+@Slf4j
+@Component
+public class PaymentOutboxDispatcher {
+
+    private static final List<OutboxStatus> CLAIMABLE = List.of(OutboxStatus.PENDING, OutboxStatus.IN_PROGRESS);
+
+    private final PaymentOutboxRepository outboxRepository;
+    private final PaymentRepository paymentRepository;
+    private final PaymentGateway paymentGateway;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor gatewayExecutor;
+
+    @Value("${payment.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${payment.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${payment.outbox.lease:PT2M}")
+    private Duration lease;
+
+    @Value("${payment.outbox.retry-backoff:PT5S}")
+    private Duration retryBackoff;
+
+    public PaymentOutboxDispatcher(
+            PaymentOutboxRepository outboxRepository,
+            PaymentRepository paymentRepository,
+            PaymentGateway paymentGateway,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("paymentGatewayExecutor") TaskExecutor gatewayExecutor
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.paymentRepository = paymentRepository;
+        this.paymentGateway = paymentGateway;
+        this.transactionTemplate = transactionTemplate;
+        this.gatewayExecutor = gatewayExecutor;
+    }
+
+    @Scheduled(fixedDelayString = "${payment.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        List<PaymentCommand> commands;
+        do {
+            commands = transactionTemplate.execute(status -> claimDueCommands());
+            if (commands == null || commands.isEmpty()) return;
+
+            List<CompletableFuture<DispatchOutcome>> futures = commands.stream()
+                    .map(command -> CompletableFuture.supplyAsync(() -> call(command), gatewayExecutor))
+                    .toList();
+            List<DispatchOutcome> outcomes = futures.stream().map(CompletableFuture::join).toList();
+
+            applyOutcomesIsolated(outcomes);
+        } while (commands.size() == batchSize);
+    }
+
+    private DispatchOutcome call(PaymentCommand command) {
+        try {
+            return DispatchOutcome.success(command, paymentGateway.execute(command));
+        } catch (StripeException e) {
+            boolean retriable = e instanceof ApiConnectionException
+                    || e instanceof RateLimitException
+                    || (e.getStatusCode() != null && e.getStatusCode() >= 500);
+            return DispatchOutcome.failure(command, e.getMessage(), retriable);
+        } catch (RuntimeException e) {
+            return DispatchOutcome.failure(command, e.getMessage(), false);
+        }
+    }
+
+    /**
+     * A result that still cannot be saved leaves its event IN_PROGRESS; it is claimed again once
+     * the lease runs out and replayed under the same idempotency key, so Stripe does not repeat it.
+     */
+    private void applyOutcomesIsolated(List<DispatchOutcome> outcomes) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> applyOutcomes(outcomes));
+            return;
+        } catch (RuntimeException e) {
+            if (outcomes.size() == 1) {
+                log.error("Could not save result of payment command {}: {}", outcomes.get(0).command().eventId(), e.getMessage());
+                return;
+            }
+            log.warn("Could not save payment command results as a batch, saving them one by one: {}", e.getMessage());
+        }
+
+        for (DispatchOutcome outcome : outcomes) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> applyOutcomes(List.of(outcome)));
+            } catch (RuntimeException e) {
+                log.error("Could not save result of payment command {}: {}", outcome.command().eventId(), e.getMessage());
+            }
+        }
+    }
+
+    private void applyOutcomes(List<DispatchOutcome> outcomes) {
+        Map<UUID, PaymentOutboxEvent> events = outboxRepository.findAllById(
+                outcomes.stream().map(o -> o.command().eventId()).toList()
+        ).stream().collect(Collectors.toMap(PaymentOutboxEvent::getId, Function.identity()));
+
+        Map<UUID, Payment> payments = paymentRepository.findAllById(
+                outcomes.stream().map(o -> o.command().paymentId()).toList()
+        ).stream().collect(Collectors.toMap(Payment::getId, Function.identity()));
+
+        for (DispatchOutcome outcome : outcomes) {
+            PaymentOutboxEvent event = events.get(outcome.command().eventId());
+            Payment payment = payments.get(outcome.command().paymentId());
+            if (event == null) continue;
+
+            if (outcome.result() != null) {
+                applySuccess(outcome.command(), event, payment, outcome.result());
+            } else {
+                applyFailure(outcome.command(), event, payment, outcome.error(), outcome.retriable());
+            }
+        }
+    }
+
+    private List<PaymentCommand> claimDueCommands() {
+        Instant now = Instant.now();
+        List<PaymentOutboxEvent> events = outboxRepository.findDueForUpdate(CLAIMABLE, now, PageRequest.of(0, batchSize));
+        if (events.isEmpty()) return List.of();
+
+        Map<UUID, Payment> payments = paymentRepository.findAllById(
+                events.stream().map(PaymentOutboxEvent::getPaymentId).toList()
+        ).stream().collect(Collectors.toMap(Payment::getId, Function.identity()));
+
+        List<PaymentCommand> commands = new ArrayList<>(events.size());
+        for (PaymentOutboxEvent event : events) {
+            Payment payment = payments.get(event.getPaymentId());
+            if (payment == null) {
+                event.setStatus(OutboxStatus.FAILED);
+                event.setLastError("Payment not found: " + event.getPaymentId());
+                continue;
+            }
+
+            event.setStatus(OutboxStatus.IN_PROGRESS);
+            event.setAttempts(event.getAttempts() + 1);
+            event.setNextAttemptAt(now.plus(lease));
+            commands.add(toCommand(event, payment));
+        }
+        return commands;
+    }
+
+    private static String stripeIdempotencyKey(PaymentOutboxEvent event) {
+        int generation = event.getRetryGeneration();
+        return generation == 0 ? event.getIdempotencyKey() : event.getIdempotencyKey() + ":retry-" + generation;
+    }
+
+    private PaymentCommand toCommand(PaymentOutboxEvent event, Payment payment) {
+        return new PaymentCommand(
+                event.getId(),
+                payment.getId(),
+                event.getCommandType(),
+                stripeIdempotencyKey(event),
+                payment.getAmount().setScale(2, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100)).longValueExact(),
+                payment.getCurrency().name().toLowerCase(),
+                payment.getPurpose() == null ? "Hotel booking payment" : payment.getPurpose(),
+                payment.getBooking().getId(),
+                payment.getUser().getId(),
+                payment.getStripePaymentIntentId(),
+                payment.getStripeChargeId()
+        );
+    }
+
+    private void applySuccess(PaymentCommand command, PaymentOutboxEvent event, Payment payment, PaymentGatewayResult result) {
+        if (payment == null) return;
+
+        if (result.stripePaymentIntentId() != null) payment.setStripePaymentIntentId(result.stripePaymentIntentId());
+        if (result.stripeChargeId() != null) payment.setStripeChargeId(result.stripeChargeId());
+
+        payment.setStatus(result.status());
+        if (result.status() == PaymentStatus.CANCELLED && payment.getCancelledAt() == null) payment.setCancelledAt(Instant.now());
+        if (result.status() == PaymentStatus.REFUNDED && payment.getRefundedAt() == null) payment.setRefundedAt(Instant.now());
+        payment.setProviderMessage(providerMessage(event.getReason(), result.providerMessage(), command.type()));
+
+        event.setStatus(OutboxStatus.COMPLETED);
+        event.setLastError(null);
+    }
+
+    private void applyFailure(PaymentCommand command, PaymentOutboxEvent event, Payment payment, String error, boolean retriable) {
+        String message = error == null ? "Unknown Stripe error" : error;
+        event.setLastError(message.substring(0, Math.min(message.length(), 1000)));
+
+        if (retriable && event.getAttempts() < maxAttempts) {
+            long factor = 1L << Math.min(event.getAttempts() - 1, 10);
+            event.setStatus(OutboxStatus.PENDING);
+            event.setNextAttemptAt(Instant.now().plus(retryBackoff.multipliedBy(factor)));
+            log.warn("Payment command {} for payment {} failed, retrying: {}", command.type(), command.paymentId(), message);
+            return;
+        }
+
+        event.setStatus(OutboxStatus.FAILED);
+        log.error("Payment command {} for payment {} failed permanently: {}", command.type(), command.paymentId(), message);
+
+        if (payment == null) return;
+        if (command.type() == PaymentCommandType.CREATE_INTENT) {
+            payment.setStatus(PaymentStatus.FAILED);
+        }
+        String providerMessage = "Stripe error: " + message;
+        payment.setProviderMessage(providerMessage.substring(0, Math.min(providerMessage.length(), 600)));
+    }
+
+    private String providerMessage(String reason, String gatewayMessage, PaymentCommandType type) {
+        boolean hasReason = reason != null && !reason.isBlank();
+        return switch (type) {
+            case CREATE_INTENT -> gatewayMessage;
+            case CANCEL -> hasReason ? reason : "Cancelled";
+            case REFUND -> hasReason ? reason + " | " + gatewayMessage : gatewayMessage;
+        };
+    }
+
+    private record DispatchOutcome(PaymentCommand command, PaymentGatewayResult result, String error, boolean retriable) {
+        static DispatchOutcome success(PaymentCommand command, PaymentGatewayResult result) {
+            return new DispatchOutcome(command, result, null, false);
+        }
+
+        static DispatchOutcome failure(PaymentCommand command, String error, boolean retriable) {
+            return new DispatchOutcome(command, null, error, retriable);
+        }
+    }
+}
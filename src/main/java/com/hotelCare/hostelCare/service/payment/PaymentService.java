@@ -1,8 +1,13 @@
 package com.hotelCare.hostelCare.service.payment;
+import com.hotelCare.hostelCare.dto.payment.PaymentBulkJobDto;
+import com.hotelCare.hostelCare.dto.payment.PaymentBulkRequestDto;
 import com.hotelCare.hostelCare.dto.payment.PaymentRequestDto;
 import com.hotelCare.hostelCare.dto.payment.PaymentResponseDto;
+import com.hotelCare.hostelCare.enums.PaymentCommandType;
 import com.hotelCare.hostelCare.enums.PaymentStatus;
 import com.hotelCare.hostelCare.enums.ProviderType;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -37,5 +42,11 @@ public interface PaymentService {
 
     List<PaymentResponseDto> getAllPayments();
 
+    long streamAllPayments(OutputStream out) throws IOException;
+
     long countPayments();
+
+    PaymentBulkJobDto startBulkJob(PaymentCommandType type, PaymentBulkRequestDto request);
+
+    PaymentBulkJobDto getBulkJob(UUID jobId);
 }
@@ -1,33 +1,53 @@
 package com.hotelCare.hostelCare.service.payment;
+import com.hotelCare.hostelCare.dto.bookings.BookingSearchRequestDto;
+import com.hotelCare.hostelCare.dto.payment.OutboxStatusCount;
+import com.hotelCare.hostelCare.dto.payment.PaymentBulkJobDto;
+import com.hotelCare.hostelCare.dto.payment.PaymentBulkRequestDto;
 import com.hotelCare.hostelCare.dto.payment.PaymentRequestDto;
 import com.hotelCare.hostelCare.dto.payment.PaymentResponseDto;
 import com.hotelCare.hostelCare.entity.booking.Booking;
 import com.hotelCare.hostelCare.entity.payment.Payment;
+import com.hotelCare.hostelCare.entity.payment.PaymentBulkJob;
+import com.hotelCare.hostelCare.entity.payment.PaymentOutboxEvent;
 import com.hotelCare.hostelCare.entity.user.User;
+import com.hotelCare.hostelCare.enums.BulkJobStatus;
+import com.hotelCare.hostelCare.enums.OutboxStatus;
+import com.hotelCare.hostelCare.enums.PaymentCommandType;
 import com.hotelCare.hostelCare.enums.PaymentStatus;
 import com.hotelCare.hostelCare.enums.ProviderType;
 import com.hotelCare.hostelCare.exception.BadRequestException;
 import com.hotelCare.hostelCare.exception.NotFoundException;
 import com.hotelCare.hostelCare.mappers.paymentMapper.PaymentMapper;
 import com.hotelCare.hostelCare.repository.bookingRepository.BookingRepository;
+import com.hotelCare.hostelCare.repository.paymentRepository.PaymentBulkJobRepository;
+import com.hotelCare.hostelCare.repository.paymentRepository.PaymentOutboxRepository;
 import com.hotelCare.hostelCare.repository.paymentRepository.PaymentRepository;
 import com.hotelCare.hostelCare.repository.userRepository.UserRepository;
-import com.stripe.Stripe;
-import com.stripe.exception.StripeException;
-import com.stripe.model.PaymentIntent;
-import com.stripe.model.Refund;
-import com.stripe.param.PaymentIntentCancelParams;
-import com.stripe.param.PaymentIntentCreateParams;
-import com.stripe.param.RefundCreateParams;
-import jakarta.transaction.Transactional;
+import com.hotelCare.hostelCare.service.statistics.EntityCounters;
+import com.hotelCare.hostelCare.utils.BookingSpecification;
+import com.hotelCare.hostelCare.utils.NdjsonStreamWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 @Service
 @Transactional
 @RequiredArgsConstructor
@@ -37,15 +57,14 @@ public class PaymentServiceImpl implements PaymentService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final PaymentMapper paymentMapper;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+    private final EntityManager entityManager;
+    private final PaymentOutboxRepository paymentOutboxRepository;
+    private final PaymentBulkJobRepository paymentBulkJobRepository;
+    private final EntityCounters entityCounters;
 
-    @Value("${stripe.secret-key}")
-    private String stripeSecretKey;
-
-    private void ensureStripeInitialized() {
-        if (Stripe.apiKey == null || Stripe.apiKey.isBlank()) {
-            Stripe.apiKey = stripeSecretKey;
-        }
-    }
+    @Value("${payment.bulk.max-items:5000}")
+    private int bulkMaxItems;
 
     private long toSmallestUnit(BigDecimal amount) {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
@@ -60,33 +79,49 @@ public class PaymentServiceImpl implements PaymentService {
         return "PAY-" + UUID.randomUUID().toString().replace("-", "").substring(0, 20).toUpperCase();
     }
 
-    private PaymentResponseDto createStripeIntentForPayment(Payment payment) {
-        long amountSmallest = toSmallestUnit(payment.getAmount());
-        try {
-            PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
-                    .setAmount(amountSmallest)
-                    .setCurrency(payment.getCurrency().name().toLowerCase())
-                    .setDescription(payment.getPurpose() == null ? "Hotel booking payment" : payment.getPurpose())
-                    .putMetadata("paymentId", payment.getId().toString())
-                    .putMetadata("bookingId", payment.getBooking().getId().toString())
-                    .putMetadata("userId", payment.getUser().getId().toString())
-                    .setAutomaticPaymentMethods(
-                            PaymentIntentCreateParams.AutomaticPaymentMethods.builder()
-                                    .setEnabled(true)
-                                    .build()
-                    )
-                    .build();
-            PaymentIntent intent = PaymentIntent.create(params);
-            payment.setStripePaymentIntentId(intent.getId());
-            payment.setProviderMessage("Stripe PaymentIntent created");
-            Payment saved = paymentRepository.saveAndFlush(payment);
-            return paymentMapper.toResponseDto(saved);
-        } catch (StripeException e) {
-            payment.setStatus(PaymentStatus.FAILED);
-            payment.setProviderMessage("Stripe error: " + e.getMessage());
-            paymentRepository.save(payment);
-            throw new BadRequestException("Stripe error: " + e.getMessage());
+    private static String idempotencyKey(Payment payment, PaymentCommandType type) {
+        return payment.getReference() + ":" + type.name();
+    }
+
+    private static PaymentOutboxEvent.PaymentOutboxEventBuilder outboxEvent(Payment payment, PaymentCommandType type, String reason) {
+        return PaymentOutboxEvent.builder()
+                .paymentId(payment.getId())
+                .commandType(type)
+                .idempotencyKey(idempotencyKey(payment, type))
+                .status(OutboxStatus.PENDING)
+                .reason(reason)
+                .attempts(0)
+                .retryGeneration(0)
+                .nextAttemptAt(Instant.now());
+    }
+
+    private void enqueueStripeCommand(Payment payment, PaymentCommandType type, String reason) {
+        PaymentOutboxEvent existing = paymentOutboxRepository.findByIdempotencyKey(idempotencyKey(payment, type))
+                .orElse(null);
+        if (existing == null) {
+            paymentOutboxRepository.save(outboxEvent(payment, type, reason).build());
+            return;
+        }
+        if (existing.getStatus() != OutboxStatus.FAILED) {
+            throw new BadRequestException("A " + type.name().toLowerCase() + " request is already in progress for this payment");
         }
+        retry(existing, reason, null);
+    }
+
+    /**
+     * Puts a permanently failed command back in the queue. The idempotency key is unique per
+     * payment and command, so the failed row is reused rather than inserting a new one. Stripe
+     * replays the stored result of a key for 24 hours, errors included, so the retry generation is
+     * bumped and the dispatcher sends the command under a new key.
+     */
+    private static void retry(PaymentOutboxEvent event, String reason, UUID jobId) {
+        event.setStatus(OutboxStatus.PENDING);
+        event.setAttempts(0);
+        event.setRetryGeneration(event.getRetryGeneration() + 1);
+        event.setNextAttemptAt(Instant.now());
+        event.setLastError(null);
+        event.setReason(reason);
+        event.setJobId(jobId);
     }
 
     @Override
@@ -97,6 +132,7 @@ public class PaymentServiceImpl implements PaymentService {
         if (request.userId() == null) throw new BadRequestException("userId is required");
         if (request.amount() == null) throw new BadRequestException("amount is required");
         if (request.currency() == null) throw new BadRequestException("currency is required");
+        toSmallestUnit(request.amount());
 
         ProviderType provider = request.provider() == null ? ProviderType.STRIPE : request.provider();
 
@@ -127,8 +163,9 @@ public class PaymentServiceImpl implements PaymentService {
         Payment saved = paymentRepository.save(payment);
 
         if (provider == ProviderType.STRIPE) {
-            ensureStripeInitialized();
-            return createStripeIntentForPayment(saved);
+            enqueueStripeCommand(saved, PaymentCommandType.CREATE_INTENT, null);
+            saved.setProviderMessage("Stripe PaymentIntent queued");
+            return paymentMapper.toResponseDto(saved);
         }
 
         if (provider == ProviderType.PAYPAL) {
@@ -156,19 +193,15 @@ public class PaymentServiceImpl implements PaymentService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PaymentResponseDto> getPaymentsByUserId(UUID userId) {
-        return paymentRepository.findByUserId(userId)
-                .stream()
-                .map(paymentMapper::toResponseDto)
-                .toList();
+        return paymentRepository.findResponseDtosByUserId(userId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PaymentResponseDto> getPaymentsByBookingId(UUID bookingId) {
-        return paymentRepository.findByBookingId(bookingId)
-                .stream()
-                .map(paymentMapper::toResponseDto)
-                .toList();
+        return paymentRepository.findResponseDtosByBookingId(bookingId);
     }
 
     @Override
@@ -221,24 +254,13 @@ public class PaymentServiceImpl implements PaymentService {
         }
 
         if (payment.getProvider() == ProviderType.STRIPE) {
-            ensureStripeInitialized();
-
             if (payment.getStripePaymentIntentId() == null || payment.getStripePaymentIntentId().isBlank()) {
                 throw new BadRequestException("Stripe PaymentIntent ID is missing for this payment");
             }
 
-            try {
-                PaymentIntent intent = PaymentIntent.retrieve(payment.getStripePaymentIntentId());
-                intent.cancel(PaymentIntentCancelParams.builder().build());
-
-                payment.setStatus(PaymentStatus.CANCELLED);
-                payment.setCancelledAt(Instant.now());
-                payment.setProviderMessage(reason == null ? "Cancelled" : reason);
-
-                return paymentMapper.toResponseDto(paymentRepository.save(payment));
-            } catch (StripeException e) {
-                throw new BadRequestException("Stripe cancel error: " + e.getMessage());
-            }
+            enqueueStripeCommand(payment, PaymentCommandType.CANCEL, reason);
+            payment.setProviderMessage("Cancellation requested");
+            return paymentMapper.toResponseDto(paymentRepository.save(payment));
         }
 
         payment.setStatus(PaymentStatus.CANCELLED);
@@ -269,68 +291,13 @@ public class PaymentServiceImpl implements PaymentService {
         }
 
         if (payment.getProvider() == ProviderType.STRIPE) {
-            ensureStripeInitialized();
-
             if (payment.getStripePaymentIntentId() == null || payment.getStripePaymentIntentId().isBlank()) {
                 throw new BadRequestException("Stripe PaymentIntent ID is missing for this payment");
             }
 
-            try {
-                com.stripe.model.PaymentIntent intent =
-                        com.stripe.model.PaymentIntent.retrieve(payment.getStripePaymentIntentId());
-
-                if (!"succeeded".equalsIgnoreCase(intent.getStatus())) {
-                    if ("requires_payment_method".equals(intent.getStatus())
-                            || "requires_confirmation".equals(intent.getStatus())
-                            || "requires_action".equals(intent.getStatus())
-                            || "processing".equals(intent.getStatus())) {
-
-                        intent.cancel();
-
-                        payment.setStatus(PaymentStatus.CANCELLED);
-                        payment.setCancelledAt(Instant.now());
-                        payment.setProviderMessage(
-                                (reason == null || reason.isBlank())
-                                        ? "Stripe intent cancelled (refund not possible because payment was not completed)"
-                                        : ("Cancelled: " + reason)
-                        );
-
-                        return paymentMapper.toResponseDto(paymentRepository.save(payment));
-                    }
-
-                    throw new BadRequestException(
-                            "Cannot refund: Stripe PaymentIntent status is '" + intent.getStatus()
-                                    + "'. It has no successful charge."
-                    );
-                }
-
-                String chargeId = payment.getStripeChargeId();
-                if (chargeId == null || chargeId.isBlank()) {
-                    chargeId = intent.getLatestCharge();
-                }
-
-                if (chargeId == null || chargeId.isBlank()) {
-                    throw new BadRequestException("Cannot refund: no Stripe charge found for this PaymentIntent");
-                }
-
-                RefundCreateParams params = RefundCreateParams.builder()
-                        .setCharge(chargeId)
-                        .setReason(RefundCreateParams.Reason.REQUESTED_BY_CUSTOMER)
-                        .build();
-
-                Refund refund = Refund.create(params);
-
-                payment.setStatus(PaymentStatus.REFUNDED);
-                payment.setRefundedAt(Instant.now());
-                payment.setProviderMessage((reason == null || reason.isBlank())
-                        ? ("Refund created: " + refund.getId())
-                        : (reason + " | refundId=" + refund.getId()));
-
-                return paymentMapper.toResponseDto(paymentRepository.save(payment));
-
-            } catch (StripeException e) {
-                throw new BadRequestException("Stripe refund error: " + e.getMessage());
-            }
+            enqueueStripeCommand(payment, PaymentCommandType.REFUND, reason);
+            payment.setProviderMessage("Refund requested");
+            return paymentMapper.toResponseDto(paymentRepository.save(payment));
         }
 
         payment.setStatus(PaymentStatus.REFUNDED);
@@ -341,16 +308,176 @@ public class PaymentServiceImpl implements PaymentService {
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<PaymentResponseDto> getAllPayments() {
-        return paymentRepository.findAll()
-                .stream()
-                .map(paymentMapper::toResponseDto)
-                .toList();
+        return paymentRepository.findAllResponseDtos();
+    }
+
+    @Override
+    public long streamAllPayments(OutputStream out) throws IOException {
+        try (Stream<Payment> payments = paymentRepository.streamAll()) {
+            return ndjsonStreamWriter.write(payments, paymentMapper::toResponseDto, entityManager::detach, out);
+        }
     }
 
     @Override
     public long countPayments() {
-        return paymentRepository.count();
+        return entityCounters.count(Payment.class);
+    }
+
+    @Override
+    public PaymentBulkJobDto startBulkJob(PaymentCommandType type, PaymentBulkRequestDto request) {
+        if (type != PaymentCommandType.CANCEL && type != PaymentCommandType.REFUND) {
+            throw new BadRequestException("Bulk jobs support CANCEL and REFUND only");
+        }
+        if (request == null) throw new BadRequestException("Bulk payment request is required");
+
+        boolean hasIds = request.paymentIds() != null && !request.paymentIds().isEmpty();
+        boolean hasFilter = request.bookingFilter() != null;
+        if (hasIds == hasFilter) {
+            throw new BadRequestException("Provide either paymentIds or bookingFilter");
+        }
+
+        int requested;
+        List<Payment> payments;
+        if (hasIds) {
+            Set<UUID> ids = new LinkedHashSet<>(request.paymentIds());
+            if (ids.size() > bulkMaxItems) {
+                throw new BadRequestException("A bulk job can target at most " + bulkMaxItems + " payments");
+            }
+            requested = ids.size();
+            payments = paymentRepository.findAllById(ids);
+        } else {
+            List<UUID> bookingIds = findBookingIds(request.bookingFilter());
+            if (bookingIds.size() > bulkMaxItems) {
+                throw new BadRequestException("The booking filter matches more than " + bulkMaxItems + " bookings");
+            }
+            payments = bookingIds.isEmpty() ? List.of() : paymentRepository.findByBookingIdIn(bookingIds);
+            if (payments.size() > bulkMaxItems) {
+                throw new BadRequestException("A bulk job can target at most " + bulkMaxItems + " payments");
+            }
+            requested = payments.size();
+        }
+
+        PaymentBulkJob job = paymentBulkJobRepository.save(PaymentBulkJob.builder()
+                .commandType(type)
+                .reason(request.reason())
+                .requested(requested)
+                .queued(0)
+                .appliedDirectly(0)
+                .skipped(0)
+                .build());
+
+        Map<String, PaymentOutboxEvent> existingEvents = new HashMap<>();
+        if (!payments.isEmpty()) {
+            for (PaymentOutboxEvent event : paymentOutboxRepository.findByIdempotencyKeyIn(
+                    payments.stream().map(p -> idempotencyKey(p, type)).toList())) {
+                existingEvents.put(event.getIdempotencyKey(), event);
+            }
+        }
+
+        List<PaymentOutboxEvent> events = new ArrayList<>();
+        int appliedDirectly = 0;
+        for (Payment payment : payments) {
+            if (!isBulkEligible(payment, type)) continue;
+
+            if (payment.getProvider() != ProviderType.STRIPE) {
+                applyDirectly(payment, type, request.reason());
+                appliedDirectly++;
+                continue;
+            }
+
+            if (payment.getStripePaymentIntentId() == null || payment.getStripePaymentIntentId().isBlank()) {
+                continue;
+            }
+
+            PaymentOutboxEvent existing = existingEvents.get(idempotencyKey(payment, type));
+            if (existing != null && existing.getStatus() != OutboxStatus.FAILED) continue;
+
+            if (existing == null) {
+                events.add(outboxEvent(payment, type, request.reason()).jobId(job.getId()).build());
+            } else {
+                retry(existing, request.reason(), job.getId());
+                events.add(existing);
+            }
+            payment.setProviderMessage(type == PaymentCommandType.CANCEL ? "Cancellation requested" : "Refund requested");
+        }
+
+        paymentOutboxRepository.saveAll(events);
+
+        job.setQueued(events.size());
+        job.setAppliedDirectly(appliedDirectly);
+        job.setSkipped(requested - events.size() - appliedDirectly);
+
+        return toBulkJobDto(job, Map.of(OutboxStatus.PENDING, (long) events.size()));
+    }
+
+    @Override
+    public PaymentBulkJobDto getBulkJob(UUID jobId) {
+        PaymentBulkJob job = paymentBulkJobRepository.findById(jobId)
+                .orElseThrow(() -> new NotFoundException("Bulk payment job not found: " + jobId));
+
+        Map<OutboxStatus, Long> counts = new EnumMap<>(OutboxStatus.class);
+        for (OutboxStatusCount count : paymentOutboxRepository.countByJobGroupedByStatus(jobId)) {
+            counts.put(count.status(), count.count());
+        }
+        return toBulkJobDto(job, counts);
+    }
+
+    private List<UUID> findBookingIds(BookingSearchRequestDto filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<UUID> query = cb.createQuery(UUID.class);
+        Root<Booking> root = query.from(Booking.class);
+        query.select(root.<UUID>get("id"))
+                .where(BookingSpecification.search(filter).toPredicate(root, query, cb));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(bulkMaxItems + 1)
+                .getResultList();
+    }
+
+    private static boolean isBulkEligible(Payment payment, PaymentCommandType type) {
+        PaymentStatus status = payment.getStatus();
+        if (type == PaymentCommandType.REFUND) {
+            return status == PaymentStatus.SUCCEEDED;
+        }
+        return status != PaymentStatus.SUCCEEDED
+                && status != PaymentStatus.CANCELLED
+                && status != PaymentStatus.REFUNDED;
+    }
+
+    private static void applyDirectly(Payment payment, PaymentCommandType type, String reason) {
+        if (type == PaymentCommandType.CANCEL) {
+            payment.setStatus(PaymentStatus.CANCELLED);
+            payment.setCancelledAt(Instant.now());
+            payment.setProviderMessage(reason == null ? "Cancelled" : reason);
+        } else {
+            payment.setStatus(PaymentStatus.REFUNDED);
+            payment.setRefundedAt(Instant.now());
+            payment.setProviderMessage(reason == null ? "Refunded" : reason);
+        }
+    }
+
+    private static PaymentBulkJobDto toBulkJobDto(PaymentBulkJob job, Map<OutboxStatus, Long> counts) {
+        long pending = counts.getOrDefault(OutboxStatus.PENDING, 0L) + counts.getOrDefault(OutboxStatus.IN_PROGRESS, 0L);
+        long completed = counts.getOrDefault(OutboxStatus.COMPLETED, 0L) + job.getAppliedDirectly();
+        long failed = counts.getOrDefault(OutboxStatus.FAILED, 0L);
+
+        BulkJobStatus status = pending > 0
+                ? BulkJobStatus.RUNNING
+                : failed > 0 ? BulkJobStatus.COMPLETED_WITH_ERRORS : BulkJobStatus.COMPLETED;
+
+        return new PaymentBulkJobDto(
+                job.getId(),
+                job.getCommandType(),
+                status,
+                job.getRequested(),
+                job.getSkipped(),
+                pending,
+                completed,
+                failed,
+                job.getCreatedAt()
+        );
     }
 }
 
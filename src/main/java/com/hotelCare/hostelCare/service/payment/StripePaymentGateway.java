@@ -0,0 +1,114 @@
+package com.hotelCare.hostelCare.service.payment;
+import com.hotelCare.hostelCare.dto.payment.PaymentCommand;
+import com.hotelCare.hostelCare.dto.payment.PaymentGatewayResult;
+import com.hotelCare.hostelCare.enums.PaymentStatus;
+import com.stripe.StripeClient;
+import com.stripe.exception.StripeException;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.Refund;
+import com.stripe.net.RequestOptions;
+import com.stripe.param.PaymentIntentCancelParams;
+import com.stripe.param.PaymentIntentCreateParams;
+import com.stripe.param.RefundCreateParams;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stripe calls used by the payment outbox dispatcher. Nothing here touches the database;
+ * every call carries the outbox idempotency key so a retried command is never applied twice,
+ * including the SDK's own network retries. Each call is timed as {@code stripe.requests}.
+ */
+@Component
+public class StripePaymentGateway implements PaymentGateway {
+
+    private static final String REQUEST_METRIC = "stripe.requests";
+
+    private final StripeClient stripeClient;
+    private final MeterRegistry meterRegistry;
+
+    public StripePaymentGateway(StripeClient stripeClient, MeterRegistry meterRegistry) {
+        this.stripeClient = stripeClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public PaymentGatewayResult execute(PaymentCommand command) throws StripeException {
+        RequestOptions options = RequestOptions.builder()
+                .setIdempotencyKey(command.idempotencyKey())
+                .build();
+
+        return switch (command.type()) {
+            case CREATE_INTENT -> timed("create_intent", () -> createIntent(command, options));
+            case CANCEL -> timed("cancel", () -> cancel(command, options));
+            case REFUND -> timed("refund", () -> refund(command, options));
+        };
+    }
+
+    private PaymentGatewayResult createIntent(PaymentCommand command, RequestOptions options) throws StripeException {
+        PaymentIntentCreateParams params = PaymentIntentCreateParams.builder()
+                .setAmount(command.amountInSmallestUnit())
+                .setCurrency(command.currency())
+                .setDescription(command.description())
+                .putMetadata("paymentId", command.paymentId().toString())
+                .putMetadata("bookingId", command.bookingId().toString())
+                .putMetadata("userId", command.userId().toString())
+                .setAutomaticPaymentMethods(
+                        PaymentIntentCreateParams.AutomaticPaymentMethods.builder()
+                                .setEnabled(true)
+                                .build()
+                )
+                .build();
+
+        PaymentIntent intent = stripeClient.v1().paymentIntents().create(params, options);
+        return new PaymentGatewayResult(PaymentStatus.PENDING, intent.getId(), null, "Stripe PaymentIntent created");
+    }
+
+    private PaymentGatewayResult cancel(PaymentCommand command, RequestOptions options) throws StripeException {
+        PaymentIntent cancelled = stripeClient.v1().paymentIntents().cancel(
+                command.stripePaymentIntentId(),
+                PaymentIntentCancelParams.builder().build(),
+                options
+        );
+        return new PaymentGatewayResult(PaymentStatus.CANCELLED, cancelled.getId(), null, null);
+    }
+
+    private PaymentGatewayResult refund(PaymentCommand command, RequestOptions options) throws StripeException {
+        RefundCreateParams.Builder params = RefundCreateParams.builder()
+                .setReason(RefundCreateParams.Reason.REQUESTED_BY_CUSTOMER);
+
+        String chargeId = command.stripeChargeId();
+        if (chargeId != null && !chargeId.isBlank()) {
+            params.setCharge(chargeId);
+        } else {
+            params.setPaymentIntent(command.stripePaymentIntentId());
+        }
+
+        Refund refund = stripeClient.v1().refunds().create(params.build(), options);
+        return new PaymentGatewayResult(PaymentStatus.REFUNDED, command.stripePaymentIntentId(), refund.getCharge(), "Refund created: " + refund.getId());
+    }
+
+    private PaymentGatewayResult timed(String operation, StripeCall call) throws StripeException {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return call.run();
+        } catch (StripeException | RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            Timer.builder(REQUEST_METRIC)
+                    .description("Stripe API calls, including SDK network retries")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StripeCall {
+        PaymentGatewayResult run() throws StripeException;
+    }
+}
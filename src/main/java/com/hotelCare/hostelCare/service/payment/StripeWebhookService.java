@@ -0,0 +1,202 @@
+package com.hotelCare.hostelCare.service.payment;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotelCare.hostelCare.enums.PaymentStatus;
+import com.hotelCare.hostelCare.exception.BadRequestException;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import com.stripe.net.Webhook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Connection;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies and stores Stripe webhook deliveries, then applies them in batches: one statement
+ * updates every affected payment together with its booking's paid flag. Events can arrive late and
+ * across batches, so a payment never leaves a final state: REFUNDED and CANCELLED stay as they are,
+ * and SUCCEEDED can only become REFUNDED.
+ */
+@Slf4j
+@Service
+public class StripeWebhookService {
+
+    private static final String INSERT_EVENT = """
+            INSERT INTO stripe_webhook_events (event_id, type, payload, received_at)
+            VALUES (?, ?, ?, ?)
+            ON CONFLICT (event_id) DO NOTHING
+            """;
+
+    private static final String CLAIM_EVENTS = """
+            SELECT event_id, payload FROM stripe_webhook_events
+            WHERE processed_at IS NULL
+            ORDER BY received_at
+            LIMIT ?
+            FOR UPDATE SKIP LOCKED
+            """;
+
+    private static final String APPLY_CHANGES = """
+            WITH changes AS (
+                SELECT * FROM unnest(?::text[], ?::text[], ?::text[], ?::timestamptz[])
+                    AS c(intent_id, status, charge_id, occurred_at)
+            ), updated AS (
+                UPDATE payments p SET
+                    status = c.status,
+                    stripe_charge_id = COALESCE(c.charge_id, p.stripe_charge_id),
+                    paid_at = CASE WHEN c.status = 'SUCCEEDED' THEN COALESCE(p.paid_at, c.occurred_at) ELSE p.paid_at END,
+                    cancelled_at = CASE WHEN c.status = 'CANCELLED' THEN COALESCE(p.cancelled_at, c.occurred_at) ELSE p.cancelled_at END,
+                    refunded_at = CASE WHEN c.status = 'REFUNDED' THEN COALESCE(p.refunded_at, c.occurred_at) ELSE p.refunded_at END,
+                    updated_at = now(),
+                    version = COALESCE(p.version, 0) + 1
+                FROM changes c
+                WHERE p.stripe_payment_intent_id = c.intent_id
+                  AND (p.status NOT IN ('REFUNDED', 'CANCELLED') OR p.status = c.status)
+                  AND (p.status <> 'SUCCEEDED' OR c.status IN ('SUCCEEDED', 'REFUNDED'))
+                RETURNING p.booking_id, p.status, c.occurred_at
+            )
+            UPDATE bookings b SET
+                is_paid = (u.status = 'SUCCEEDED'),
+                payment_date = CASE WHEN u.status = 'SUCCEEDED' THEN (u.occurred_at AT TIME ZONE 'UTC') ELSE b.payment_date END
+            FROM updated u
+            WHERE b.id = u.booking_id
+              AND u.status IN ('SUCCEEDED', 'REFUNDED')
+            """;
+
+    private static final String MARK_PROCESSED = """
+            UPDATE stripe_webhook_events SET processed_at = now()
+            WHERE event_id = ANY(?::text[])
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${stripe.webhook-secret}")
+    private String webhookSecret;
+
+    @Value("${stripe.webhook.batch-size:200}")
+    private int batchSize;
+
+    public StripeWebhookService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    public void ingest(String payload, String signatureHeader) {
+        if (signatureHeader == null || signatureHeader.isBlank()) {
+            throw new BadRequestException("Missing Stripe-Signature header");
+        }
+
+        Event event;
+        try {
+            event = Webhook.constructEvent(payload, signatureHeader, webhookSecret);
+        } catch (SignatureVerificationException e) {
+            throw new BadRequestException("Invalid Stripe signature");
+        }
+
+        jdbcTemplate.update(INSERT_EVENT, event.getId(), event.getType(), payload, Timestamp.from(Instant.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${stripe.webhook.poll-interval-ms:1000}")
+    public void processPending() {
+        Integer applied;
+        do {
+            applied = transactionTemplate.execute(status -> processBatch());
+        } while (applied != null && applied == batchSize);
+    }
+
+    private int processBatch() {
+        List<String> eventIds = new ArrayList<>();
+        Map<String, PaymentChange> changes = new LinkedHashMap<>();
+
+        jdbcTemplate.query(CLAIM_EVENTS, rs -> {
+            eventIds.add(rs.getString("event_id"));
+            PaymentChange change = toChange(rs.getString("event_id"), rs.getString("payload"));
+            if (change != null) {
+                changes.merge(change.intentId(), change, (a, b) -> b.occurredAt().isBefore(a.occurredAt()) ? a : b);
+            }
+        }, batchSize);
+
+        if (eventIds.isEmpty()) return 0;
+
+        if (!changes.isEmpty()) {
+            int size = changes.size();
+            String[] intentIds = new String[size];
+            String[] statuses = new String[size];
+            String[] chargeIds = new String[size];
+            Timestamp[] occurredAt = new Timestamp[size];
+
+            int i = 0;
+            for (PaymentChange change : changes.values()) {
+                intentIds[i] = change.intentId();
+                statuses[i] = change.status().name();
+                chargeIds[i] = change.chargeId();
+                occurredAt[i] = Timestamp.from(change.occurredAt());
+                i++;
+            }
+
+            jdbcTemplate.update(APPLY_CHANGES, ps -> {
+                Connection connection = ps.getConnection();
+                ps.setArray(1, connection.createArrayOf("text", intentIds));
+                ps.setArray(2, connection.createArrayOf("text", statuses));
+                ps.setArray(3, connection.createArrayOf("text", chargeIds));
+                ps.setArray(4, connection.createArrayOf("timestamptz", occurredAt));
+            });
+        }
+
+        String[] processed = eventIds.toArray(String[]::new);
+        jdbcTemplate.update(MARK_PROCESSED, ps -> ps.setArray(1, ps.getConnection().createArrayOf("text", processed)));
+
+        log.debug("Processed {} Stripe webhook events ({} payment changes)", eventIds.size(), changes.size());
+        return eventIds.size();
+    }
+
+    private PaymentChange toChange(String eventId, String payload) {
+        try {
+            JsonNode root = objectMapper.readTree(payload);
+            JsonNode object = root.path("data").path("object");
+            Instant occurredAt = Instant.ofEpochSecond(root.path("created").asLong(Instant.now().getEpochSecond()));
+
+            return switch (root.path("type").asText()) {
+                case "payment_intent.succeeded" ->
+                        new PaymentChange(object.path("id").asText(), PaymentStatus.SUCCEEDED, textOrNull(object, "latest_charge"), occurredAt);
+                case "payment_intent.payment_failed" ->
+                        new PaymentChange(object.path("id").asText(), PaymentStatus.FAILED, null, occurredAt);
+                case "payment_intent.canceled" ->
+                        new PaymentChange(object.path("id").asText(), PaymentStatus.CANCELLED, null, occurredAt);
+                case "payment_intent.requires_action" ->
+                        new PaymentChange(object.path("id").asText(), PaymentStatus.REQUIRES_ACTION, null, occurredAt);
+                case "charge.refunded" -> object.path("refunded").asBoolean(false)
+                        ? new PaymentChange(textOrNull(object, "payment_intent"), PaymentStatus.REFUNDED, textOrNull(object, "id"), occurredAt)
+                        : null;
+                default -> null;
+            };
+        } catch (Exception e) {
+            log.warn("Skipping unreadable Stripe webhook event {}: {}", eventId, e.getMessage());
+            return null;
+        }
+    }
+
+    private static String textOrNull(JsonNode node, String field) {
+        JsonNode value = node.path(field);
+        return value.isTextual() ? value.asText() : null;
+    }
+
+    private record PaymentChange(String intentId, PaymentStatus status, String chargeId, Instant occurredAt) {
+        PaymentChange {
+            if (intentId == null || intentId.isBlank()) {
+                throw new IllegalArgumentException("Stripe event has no payment intent id");
+            }
+        }
+    }
+}
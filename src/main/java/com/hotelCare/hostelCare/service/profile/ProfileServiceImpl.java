@@ -8,6 +8,7 @@ import com.hotelCare.hostelCare.exception.NotFoundException;
 import com.hotelCare.hostelCare.mappers.profileMapper.ProfileMapper;
 import com.hotelCare.hostelCare.repository.profileRepository.ProfileRepository;
 import com.hotelCare.hostelCare.repository.userRepository.UserRepository;
+import com.hotelCare.hostelCare.service.statistics.EntityCounters;
 import com.hotelCare.hostelCare.service.storage.FileStorageService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +24,7 @@ public class ProfileServiceImpl implements ProfileService {
     private final UserRepository userRepository;
     private final ProfileMapper profileMapper;
     private final FileStorageService fileStorageService;
+    private final EntityCounters entityCounters;
 
     @Override
     public ProfileResponseDto createProfile(UUID userId, ProfileRequestDto dto, MultipartFile profilePicture) {
@@ -92,7 +94,7 @@ public class ProfileServiceImpl implements ProfileService {
     @Override
     @Transactional
     public  long totalProfiles() {
-        return profileRepository.count();
+        return entityCounters.count(Profile.class);
     }
 
     @Override
@@ -0,0 +1,118 @@
+package com.hotelCare.hostelCare.service.ratelimit;
+import com.hotelCare.hostelCare.enums.RateLimitedAction;
+import com.hotelCare.hostelCare.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Throttles the unauthenticated auth endpoints that cost a password hash, a database write or an
+ * outgoing email. Every call spends one token from the client IP's bucket and one from the
+ * email's bucket for that action, so neither one address spraying many accounts nor many
+ * addresses hammering one account gets through. The IP is {@link HttpServletRequest#getRemoteAddr()};
+ * behind a proxy set {@code server.forward-headers-strategy} so it is the client's address.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthRateLimiter {
+
+    private static final String REJECTED_METRIC = "auth.rate_limit.rejected";
+
+    private final RateLimitStore rateLimitStore;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<RateLimitedAction, Policy> policies = new EnumMap<>(RateLimitedAction.class);
+
+    @Value("${rate-limit.login.per-ip:60}")
+    private int loginPerIp;
+
+    @Value("${rate-limit.login.per-email:10}")
+    private int loginPerEmail;
+
+    @Value("${rate-limit.login.period:PT15M}")
+    private Duration loginPeriod;
+
+    @Value("${rate-limit.verify-otp.per-ip:30}")
+    private int verifyOtpPerIp;
+
+    @Value("${rate-limit.verify-otp.per-email:5}")
+    private int verifyOtpPerEmail;
+
+    @Value("${rate-limit.verify-otp.period:PT15M}")
+    private Duration verifyOtpPeriod;
+
+    @Value("${rate-limit.resend-otp.per-ip:10}")
+    private int resendOtpPerIp;
+
+    @Value("${rate-limit.resend-otp.per-email:3}")
+    private int resendOtpPerEmail;
+
+    @Value("${rate-limit.resend-otp.period:PT15M}")
+    private Duration resendOtpPeriod;
+
+    @Value("${rate-limit.forgot-password.per-ip:10}")
+    private int forgotPasswordPerIp;
+
+    @Value("${rate-limit.forgot-password.per-email:3}")
+    private int forgotPasswordPerEmail;
+
+    @Value("${rate-limit.forgot-password.period:PT15M}")
+    private Duration forgotPasswordPeriod;
+
+    @PostConstruct
+    void init() {
+        policies.put(RateLimitedAction.LOGIN, policy(RateLimitedAction.LOGIN, loginPerIp, loginPerEmail, loginPeriod));
+        policies.put(RateLimitedAction.VERIFY_OTP,
+                policy(RateLimitedAction.VERIFY_OTP, verifyOtpPerIp, verifyOtpPerEmail, verifyOtpPeriod));
+        policies.put(RateLimitedAction.RESEND_OTP,
+                policy(RateLimitedAction.RESEND_OTP, resendOtpPerIp, resendOtpPerEmail, resendOtpPeriod));
+        policies.put(RateLimitedAction.FORGOT_PASSWORD,
+                policy(RateLimitedAction.FORGOT_PASSWORD, forgotPasswordPerIp, forgotPasswordPerEmail, forgotPasswordPeriod));
+    }
+
+    public void check(RateLimitedAction action, HttpServletRequest request, String email) {
+        Policy policy = policies.get(action);
+        String prefix = action.name().toLowerCase(Locale.ROOT);
+
+        consume(prefix + ":ip:" + request.getRemoteAddr(), policy.perIp(), policy.ipRejected());
+        if (email != null && !email.isBlank()) {
+            consume(prefix + ":email:" + email.trim().toLowerCase(Locale.ROOT), policy.perEmail(), policy.emailRejected());
+        }
+    }
+
+    private void consume(String key, RateLimit limit, Counter rejected) {
+        RateLimitDecision decision = rateLimitStore.tryConsume(key, limit);
+        if (!decision.allowed()) {
+            rejected.increment();
+            long retryAfterSeconds = (decision.retryAfter().toMillis() + 999) / 1000;
+            throw new TooManyRequestsException("Too many requests, please try again later", retryAfterSeconds);
+        }
+    }
+
+    private Policy policy(RateLimitedAction action, int perIp, int perEmail, Duration period) {
+        return new Policy(
+                new RateLimit(perIp, period),
+                new RateLimit(perEmail, period),
+                rejectedCounter(action, "ip"),
+                rejectedCounter(action, "email")
+        );
+    }
+
+    private Counter rejectedCounter(RateLimitedAction action, String key) {
+        return Counter.builder(REJECTED_METRIC)
+                .description("Auth requests rejected by the rate limiter")
+                .tag("action", action.name())
+                .tag("key", key)
+                .register(meterRegistry);
+    }
+
+    private record Policy(RateLimit perIp, RateLimit perEmail, Counter ipRejected, Counter emailRejected) {}
+}
@@ -0,0 +1,95 @@
+package com.hotelCare.hostelCare.service.ratelimit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Process-local {@link RateLimitStore}. Buckets are spread over a power-of-two number of maps by
+ * key hash, and each bucket is updated with a compare-and-set loop, so concurrent requests never
+ * block each other. A bucket that has refilled completely behaves exactly like a missing one and
+ * is dropped by {@link #evictIdle()}, which keeps memory proportional to recently active keys.
+ */
+@Slf4j
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final List<ConcurrentHashMap<String, Bucket>> stripes;
+    private final int stripeMask;
+
+    public InMemoryRateLimitStore(int stripes) {
+        int count = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            this.stripes.add(new ConcurrentHashMap<>());
+        }
+        this.stripeMask = count - 1;
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimit limit) {
+        Bucket bucket = stripeFor(key).computeIfAbsent(key, k -> new Bucket(limit, System.nanoTime()));
+        return bucket.tryConsume(System.nanoTime());
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (ConcurrentHashMap<String, Bucket> stripe : stripes) {
+            for (var entry : stripe.entrySet()) {
+                if (entry.getValue().isFull(now) && stripe.remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    private ConcurrentHashMap<String, Bucket> stripeFor(String key) {
+        int h = key.hashCode();
+        return stripes.get((h ^ (h >>> 16)) & stripeMask);
+    }
+
+    private static final class Bucket {
+
+        private final int capacity;
+        private final long nanosPerToken;
+        private final AtomicReference<State> state;
+
+        Bucket(RateLimit limit, long now) {
+            this.capacity = limit.capacity();
+            this.nanosPerToken = limit.nanosPerToken();
+            this.state = new AtomicReference<>(new State(capacity, now));
+        }
+
+        RateLimitDecision tryConsume(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = tokensAt(current, now);
+                if (tokens < 1) {
+                    return RateLimitDecision.deny(Duration.ofNanos((long) Math.ceil((1 - tokens) * nanosPerToken)));
+                }
+                State next = new State(tokens - 1, Math.max(now, current.updatedAt()));
+                if (state.compareAndSet(current, next)) {
+                    return RateLimitDecision.allow();
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return tokensAt(state.get(), now) >= capacity;
+        }
+
+        private double tokensAt(State current, long now) {
+            long elapsed = Math.max(0, now - current.updatedAt());
+            return Math.min(capacity, current.tokens() + (double) elapsed / nanosPerToken);
+        }
+    }
+
+    private record State(double tokens, long updatedAt) {}
+}
@@ -0,0 +1,19 @@
+package com.hotelCare.hostelCare.service.ratelimit;
+import java.time.Duration;
+
+/**
+ * A token bucket holding up to {@code capacity} tokens that refills completely over {@code period}.
+ */
+public record RateLimit(int capacity, Duration period) {
+
+    public RateLimit {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be at least 1");
+        if (period == null || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+    }
+
+    long nanosPerToken() {
+        return Math.max(1, period.toNanos() / capacity);
+    }
+}
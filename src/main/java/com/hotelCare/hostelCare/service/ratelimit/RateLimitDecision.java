@@ -0,0 +1,15 @@
+package com.hotelCare.hostelCare.service.ratelimit;
+import java.time.Duration;
+
+public record RateLimitDecision(boolean allowed, Duration retryAfter) {
+
+    private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, Duration.ZERO);
+
+    public static RateLimitDecision allow() {
+        return ALLOWED;
+    }
+
+    public static RateLimitDecision deny(Duration retryAfter) {
+        return new RateLimitDecision(false, retryAfter);
+    }
+}
@@ -0,0 +1,15 @@
+package com.hotelCare.hostelCare.service.ratelimit;
+
+/**
+ * Holds the token buckets behind {@link AuthRateLimiter}. The default
+ * {@link InMemoryRateLimitStore} limits each instance on its own; a store backed by a shared
+ * cache can be provided as a bean of this type to apply the limits across instances.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Takes one token from the bucket for {@code key}, creating a full bucket for {@code limit}
+     * if there is none yet.
+     */
+    RateLimitDecision tryConsume(String key, RateLimit limit);
+}
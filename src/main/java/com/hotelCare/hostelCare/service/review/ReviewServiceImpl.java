@@ -12,9 +12,10 @@ import com.hotelCare.hostelCare.mappers.reviewMapper.ReviewMapper;
 import com.hotelCare.hostelCare.repository.bookingRepository.BookingRepository;
 import com.hotelCare.hostelCare.repository.reviewRepository.ReviewRepository;
 import com.hotelCare.hostelCare.repository.userRepository.UserRepository;
-import jakarta.transaction.Transactional;
+import com.hotelCare.hostelCare.service.statistics.EntityCounters;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.UUID;
 @Service
@@ -26,6 +27,7 @@ public class ReviewServiceImpl implements ReviewService {
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
     private final ReviewMapper reviewMapper;
+    private final EntityCounters entityCounters;
 
     @Override
     public ReviewResponseDto createReview(ReviewRequestDto request) {
@@ -56,10 +58,9 @@ public class ReviewServiceImpl implements ReviewService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewResponseDto> getAllReviews() {
-        return reviewMapper.toResponseDtoList(
-                reviewRepository.findAllByDeletedFalse()
-        );
+        return reviewRepository.findAllResponseDtos();
     }
 
     @Override
@@ -124,21 +125,19 @@ public class ReviewServiceImpl implements ReviewService {
 
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewResponseDto> getApprovedReviews() {
-        return reviewMapper.toResponseDtoList(
-                reviewRepository.findAllByStatusAndDeletedFalse(ReviewStatus.APPROVED)
-        );
+        return reviewRepository.findResponseDtosByStatus(ReviewStatus.APPROVED);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewResponseDto> getRejectedReviews() {
-        return reviewMapper.toResponseDtoList(
-                reviewRepository.findAllByStatusAndDeletedFalse(ReviewStatus.REJECTED)
-        );
+        return reviewRepository.findResponseDtosByStatus(ReviewStatus.REJECTED);
     }
 
     @Override
     public long countTotalReviews() {
-        return reviewRepository.countByDeletedFalse();
+        return entityCounters.count(Review.class);
     }
 }
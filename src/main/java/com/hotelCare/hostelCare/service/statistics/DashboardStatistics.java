@@ -0,0 +1,182 @@
+package com.hotelCare.hostelCare.service.statistics;
+import com.hotelCare.hostelCare.dto.statistics.BookingStatusCount;
+import com.hotelCare.hostelCare.dto.statistics.DashboardStatisticsDto;
+import com.hotelCare.hostelCare.dto.statistics.PaymentTotals;
+import com.hotelCare.hostelCare.dto.statistics.ReviewStatusCount;
+import com.hotelCare.hostelCare.entity.booking.Booking;
+import com.hotelCare.hostelCare.entity.employee.Employee;
+import com.hotelCare.hostelCare.entity.payment.Payment;
+import com.hotelCare.hostelCare.entity.profile.Profile;
+import com.hotelCare.hostelCare.entity.review.Review;
+import com.hotelCare.hostelCare.entity.user.User;
+import com.hotelCare.hostelCare.enums.BookingStatus;
+import com.hotelCare.hostelCare.enums.PaymentCurrency;
+import com.hotelCare.hostelCare.enums.PaymentStatus;
+import com.hotelCare.hostelCare.enums.ReviewStatus;
+import com.hotelCare.hostelCare.repository.bookingRepository.BookingRepository;
+import com.hotelCare.hostelCare.repository.paymentRepository.PaymentRepository;
+import com.hotelCare.hostelCare.repository.reviewRepository.ReviewRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-status counts and revenue behind the admin dashboard. Kept current by
+ * {@link StatisticsListener} after each commit and reconciled with grouped queries on the same
+ * schedule as {@link EntityCounters}, taking the drift against each bucket as it was before the
+ * queries so writes that land meanwhile are kept. Revenue is the sum of {@code SUCCEEDED} payments,
+ * held in hundredths so it can live in a {@link LongAdder}.
+ */
+@Slf4j
+@Component
+public class DashboardStatistics {
+
+    private static final int REVENUE_SCALE = 2;
+
+    private final Map<BookingStatus, LongAdder> bookingsByStatus = adders(BookingStatus.class);
+    private final Map<PaymentStatus, LongAdder> paymentsByStatus = adders(PaymentStatus.class);
+    private final Map<PaymentCurrency, LongAdder> paymentsByCurrency = adders(PaymentCurrency.class);
+    private final Map<PaymentCurrency, LongAdder> revenueByCurrency = adders(PaymentCurrency.class);
+    private final Map<ReviewStatus, LongAdder> reviewsByStatus = adders(ReviewStatus.class);
+
+    private final BookingRepository bookingRepository;
+    private final PaymentRepository paymentRepository;
+    private final ReviewRepository reviewRepository;
+    private final EntityCounters entityCounters;
+
+    private volatile Instant lastReconciledAt;
+
+    public DashboardStatistics(
+            BookingRepository bookingRepository,
+            PaymentRepository paymentRepository,
+            ReviewRepository reviewRepository,
+            EntityCounters entityCounters
+    ) {
+        this.bookingRepository = bookingRepository;
+        this.paymentRepository = paymentRepository;
+        this.reviewRepository = reviewRepository;
+        this.entityCounters = entityCounters;
+    }
+
+    public DashboardStatisticsDto snapshot() {
+        Map<PaymentCurrency, BigDecimal> revenue = new EnumMap<>(PaymentCurrency.class);
+        revenueByCurrency.forEach((currency, adder) -> {
+            long minorUnits = adder.sum();
+            if (minorUnits != 0) revenue.put(currency, BigDecimal.valueOf(minorUnits, REVENUE_SCALE));
+        });
+
+        return new DashboardStatisticsDto(
+                entityCounters.count(Booking.class),
+                entityCounters.count(Payment.class),
+                entityCounters.count(User.class),
+                entityCounters.count(Review.class),
+                entityCounters.count(Employee.class),
+                entityCounters.count(Profile.class),
+                sums(bookingsByStatus, true),
+                sums(paymentsByStatus, true),
+                sums(paymentsByCurrency, false),
+                revenue,
+                sums(reviewsByStatus, true),
+                lastReconciledAt
+        );
+    }
+
+    void booking(BookingStatus status, int sign) {
+        if (status != null) bookingsByStatus.get(status).add(sign);
+    }
+
+    void payment(PaymentStatus status, PaymentCurrency currency, BigDecimal amount, int sign) {
+        if (status != null) paymentsByStatus.get(status).add(sign);
+        if (currency == null) return;
+
+        paymentsByCurrency.get(currency).add(sign);
+        if (status == PaymentStatus.SUCCEEDED && amount != null) {
+            revenueByCurrency.get(currency).add(sign * minorUnits(amount));
+        }
+    }
+
+    void review(ReviewStatus status, Boolean deleted, int sign) {
+        if (status != null && !Boolean.TRUE.equals(deleted)) reviewsByStatus.get(status).add(sign);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        Map<BookingStatus, Long> bookingsBefore = sums(bookingsByStatus, true);
+        Map<PaymentStatus, Long> paymentsBefore = sums(paymentsByStatus, true);
+        Map<PaymentCurrency, Long> currenciesBefore = sums(paymentsByCurrency, true);
+        Map<PaymentCurrency, Long> revenueBefore = sums(revenueByCurrency, true);
+        Map<ReviewStatus, Long> reviewsBefore = sums(reviewsByStatus, true);
+
+        Map<BookingStatus, Long> bookings = new EnumMap<>(BookingStatus.class);
+        for (BookingStatusCount row : bookingRepository.countGroupedByStatus()) {
+            bookings.merge(row.status(), row.count(), Long::sum);
+        }
+
+        Map<PaymentStatus, Long> payments = new EnumMap<>(PaymentStatus.class);
+        Map<PaymentCurrency, Long> currencies = new EnumMap<>(PaymentCurrency.class);
+        Map<PaymentCurrency, Long> revenue = new EnumMap<>(PaymentCurrency.class);
+        for (PaymentTotals row : paymentRepository.totalsGroupedByStatusAndCurrency()) {
+            if (row.status() != null) payments.merge(row.status(), row.count(), Long::sum);
+            if (row.currency() == null) continue;
+            currencies.merge(row.currency(), row.count(), Long::sum);
+            if (row.status() == PaymentStatus.SUCCEEDED && row.amount() != null) {
+                revenue.merge(row.currency(), minorUnits(row.amount()), Long::sum);
+            }
+        }
+
+        Map<ReviewStatus, Long> reviews = new EnumMap<>(ReviewStatus.class);
+        for (ReviewStatusCount row : reviewRepository.countGroupedByStatus()) {
+            reviews.merge(row.status(), row.count(), Long::sum);
+        }
+
+        correct("booking status", bookingsByStatus, bookingsBefore, bookings);
+        correct("payment status", paymentsByStatus, paymentsBefore, payments);
+        correct("payment currency", paymentsByCurrency, currenciesBefore, currencies);
+        correct("revenue", revenueByCurrency, revenueBefore, revenue);
+        correct("review status", reviewsByStatus, reviewsBefore, reviews);
+        lastReconciledAt = Instant.now();
+    }
+
+    private static <K extends Enum<K>> void correct(
+            String name,
+            Map<K, LongAdder> adders,
+            Map<K, Long> before,
+            Map<K, Long> actual
+    ) {
+        adders.forEach((key, adder) -> {
+            long drift = actual.getOrDefault(key, 0L) - before.get(key);
+            if (drift != 0) {
+                adder.add(drift);
+                log.debug("Reconciled {} {} by {}", name, key, drift);
+            }
+        });
+    }
+
+    private static long minorUnits(BigDecimal amount) {
+        return amount.setScale(REVENUE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static <K extends Enum<K>> Map<K, LongAdder> adders(Class<K> type) {
+        Map<K, LongAdder> adders = new EnumMap<>(type);
+        for (K key : type.getEnumConstants()) {
+            adders.put(key, new LongAdder());
+        }
+        return adders;
+    }
+
+    private static <K extends Enum<K>> Map<K, Long> sums(Map<K, LongAdder> adders, boolean includeZero) {
+        Map<K, Long> sums = new LinkedHashMap<>();
+        adders.forEach((key, adder) -> {
+            long sum = adder.sum();
+            if (includeZero || sum != 0) sums.put(key, sum);
+        });
+        return sums;
+    }
+}
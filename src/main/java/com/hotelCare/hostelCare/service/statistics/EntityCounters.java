@@ -0,0 +1,87 @@
+package com.hotelCare.hostelCare.service.statistics;
+import com.hotelCare.hostelCare.entity.booking.Booking;
+import com.hotelCare.hostelCare.entity.employee.Employee;
+import com.hotelCare.hostelCare.entity.payment.Payment;
+import com.hotelCare.hostelCare.entity.profile.Profile;
+import com.hotelCare.hostelCare.entity.review.Review;
+import com.hotelCare.hostelCare.entity.user.User;
+import com.hotelCare.hostelCare.repository.bookingRepository.BookingRepository;
+import com.hotelCare.hostelCare.repository.employeeRepository.EmployeeRepository;
+import com.hotelCare.hostelCare.repository.paymentRepository.PaymentRepository;
+import com.hotelCare.hostelCare.repository.profileRepository.ProfileRepository;
+import com.hotelCare.hostelCare.repository.reviewRepository.ReviewRepository;
+import com.hotelCare.hostelCare.repository.userRepository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Row counts behind the admin "total" endpoints. Kept current by {@link StatisticsListener}
+ * after each commit and reconciled with {@code count(*)} on a schedule, which also corrects
+ * for writes made by other instances or by bulk SQL. The drift is taken against the value read
+ * before the query, so increments that land meanwhile are kept; if the query also saw them, the
+ * next run takes the difference back out.
+ */
+@Slf4j
+@Component
+public class EntityCounters {
+
+    private static final String REVIEW_SOFT_DELETE_PROPERTY = "deleted";
+
+    private final Map<Class<?>, LongAdder> counters = new LinkedHashMap<>();
+    private final Map<Class<?>, LongSupplier> sources = new LinkedHashMap<>();
+
+    public EntityCounters(
+            BookingRepository bookingRepository,
+            PaymentRepository paymentRepository,
+            UserRepository userRepository,
+            ReviewRepository reviewRepository,
+            EmployeeRepository employeeRepository,
+            ProfileRepository profileRepository
+    ) {
+        sources.put(Booking.class, bookingRepository::count);
+        sources.put(Payment.class, paymentRepository::count);
+        sources.put(User.class, userRepository::count);
+        sources.put(Review.class, reviewRepository::countByDeletedFalse);
+        sources.put(Employee.class, employeeRepository::count);
+        sources.put(Profile.class, profileRepository::count);
+        sources.keySet().forEach(type -> counters.put(type, new LongAdder()));
+    }
+
+    public long count(Class<?> type) {
+        LongAdder counter = counters.get(type);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    boolean tracks(Class<?> type) {
+        return counters.containsKey(type);
+    }
+
+    void adjust(Class<?> type, long delta) {
+        LongAdder counter = counters.get(type);
+        if (counter != null) counter.add(delta);
+    }
+
+    /** Property whose {@code true} value excludes a row from the count, or {@code null}. */
+    String softDeleteProperty(Class<?> type) {
+        return type == Review.class ? REVIEW_SOFT_DELETE_PROPERTY : null;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        sources.forEach((type, source) -> {
+            LongAdder counter = counters.get(type);
+            long before = counter.sum();
+            long actual = source.getAsLong();
+            long drift = actual - before;
+            if (drift != 0) {
+                counter.add(drift);
+                log.debug("Reconciled {} count by {}", type.getSimpleName(), drift);
+            }
+        });
+    }
+}
@@ -0,0 +1,123 @@
+package com.hotelCare.hostelCare.service.statistics;
+import com.hotelCare.hostelCare.entity.booking.Booking;
+import com.hotelCare.hostelCare.entity.payment.Payment;
+import com.hotelCare.hostelCare.entity.review.Review;
+import com.hotelCare.hostelCare.enums.BookingStatus;
+import com.hotelCare.hostelCare.enums.PaymentCurrency;
+import com.hotelCare.hostelCare.enums.PaymentStatus;
+import com.hotelCare.hostelCare.enums.ReviewStatus;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import java.math.BigDecimal;
+
+/**
+ * Feeds {@link EntityCounters} and {@link DashboardStatistics} from Hibernate events that fire
+ * only once the transaction has committed, so rolled-back writes never move a counter. An update
+ * takes the old state out of the dashboard buckets and puts the new state in, so status, currency
+ * and amount changes all land in the right bucket.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatisticsListener implements
+        PostCommitInsertEventListener,
+        PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private final EntityCounters entityCounters;
+    private final DashboardStatistics dashboardStatistics;
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return entityCounters.tracks(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        EntityPersister persister = event.getPersister();
+        if (!isSoftDeleted(persister, event.getState())) {
+            entityCounters.adjust(persister.getMappedClass(), 1);
+        }
+        applyDashboard(persister, event.getState(), 1);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        EntityPersister persister = event.getPersister();
+        if (event.getOldState() == null) return;
+
+        boolean wasDeleted = isSoftDeleted(persister, event.getOldState());
+        boolean isDeleted = isSoftDeleted(persister, event.getState());
+        if (wasDeleted != isDeleted) {
+            entityCounters.adjust(persister.getMappedClass(), isDeleted ? -1 : 1);
+        }
+        applyDashboard(persister, event.getOldState(), -1);
+        applyDashboard(persister, event.getState(), 1);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        EntityPersister persister = event.getPersister();
+        if (!isSoftDeleted(persister, event.getDeletedState())) {
+            entityCounters.adjust(persister.getMappedClass(), -1);
+        }
+        applyDashboard(persister, event.getDeletedState(), -1);
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private boolean isSoftDeleted(EntityPersister persister, Object[] state) {
+        String property = entityCounters.softDeleteProperty(persister.getMappedClass());
+        return property != null && Boolean.TRUE.equals(value(persister, state, property));
+    }
+
+    private void applyDashboard(EntityPersister persister, Object[] state, int sign) {
+        if (state == null) return;
+        Class<?> type = persister.getMappedClass();
+
+        if (type == Booking.class) {
+            dashboardStatistics.booking((BookingStatus) value(persister, state, "status"), sign);
+        } else if (type == Payment.class) {
+            dashboardStatistics.payment(
+                    (PaymentStatus) value(persister, state, "status"),
+                    (PaymentCurrency) value(persister, state, "currency"),
+                    (BigDecimal) value(persister, state, "amount"),
+                    sign
+            );
+        } else if (type == Review.class) {
+            dashboardStatistics.review(
+                    (ReviewStatus) value(persister, state, "status"),
+                    (Boolean) value(persister, state, "deleted"),
+                    sign
+            );
+        }
+    }
+
+    private static Object value(EntityPersister persister, Object[] state, String property) {
+        if (state == null) return null;
+
+        String[] names = persister.getPropertyNames();
+        for (int i = 0; i < names.length; i++) {
+            if (property.equals(names[i])) {
+                return state[i];
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,124 @@
+package com.hotelCare.hostelCare.service.user;
+import com.hotelCare.hostelCare.entity.user.OneTimePassword;
+import com.hotelCare.hostelCare.entity.user.User;
+import com.hotelCare.hostelCare.enums.OtpPurpose;
+import com.hotelCare.hostelCare.exception.BadRequestException;
+import com.hotelCare.hostelCare.repository.otpRepository.OneTimePasswordRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and checks six-digit one-time codes. Codes live in {@code one_time_passwords}, one row
+ * per user and purpose, stored as an HMAC keyed with a server-side secret and bound to the user
+ * id. Verification is a point lookup by user; attempts are spent with an atomic decrement before
+ * the code is compared.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class OtpService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final OneTimePasswordRepository oneTimePasswordRepository;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    @Value("${security.otp.secret}")
+    private String otpSecret;
+
+    @Value("${security.otp.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${security.otp.verification-ttl:PT5M}")
+    private Duration verificationTtl;
+
+    @Value("${security.otp.password-reset-ttl:PT15M}")
+    private Duration passwordResetTtl;
+
+    private SecretKeySpec hmacKey;
+
+    @PostConstruct
+    void init() {
+        hmacKey = new SecretKeySpec(otpSecret.getBytes(StandardCharsets.UTF_8), HMAC_ALGORITHM);
+    }
+
+    /**
+     * Creates a new code for the user, replacing any earlier code for the same purpose.
+     */
+    public String issue(User user, OtpPurpose purpose) {
+        String code = String.valueOf(100_000 + secureRandom.nextInt(900_000));
+        OneTimePassword otp = oneTimePasswordRepository.findByUserIdAndPurpose(user.getId(), purpose)
+                .orElseGet(() -> OneTimePassword.builder().userId(user.getId()).purpose(purpose).build());
+
+        otp.setCodeHash(hash(user.getId(), purpose, code));
+        otp.setAttemptsLeft(maxAttempts);
+        otp.setExpiresAt(Instant.now().plus(purpose == OtpPurpose.PASSWORD_RESET ? passwordResetTtl : verificationTtl));
+        oneTimePasswordRepository.save(otp);
+        return code;
+    }
+
+    /**
+     * Consumes the user's code if it matches. Failed attempts are kept when the caller's
+     * transaction rolls back on the thrown {@link BadRequestException}.
+     */
+    @Transactional(dontRollbackOn = BadRequestException.class)
+    public void verify(User user, OtpPurpose purpose, String code) {
+        OneTimePassword otp = oneTimePasswordRepository.findByUserIdAndPurpose(user.getId(), purpose)
+                .orElseThrow(() -> new BadRequestException("Invalid or expired OTP code"));
+
+        if (otp.getExpiresAt().isBefore(Instant.now())) {
+            oneTimePasswordRepository.delete(otp);
+            throw new BadRequestException("Invalid or expired OTP code");
+        }
+        if (oneTimePasswordRepository.decrementAttempts(otp.getId()) == 0) {
+            oneTimePasswordRepository.delete(otp);
+            throw new BadRequestException("Too many invalid attempts. Please request a new OTP code");
+        }
+
+        byte[] expected = otp.getCodeHash().getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = hash(user.getId(), purpose, code.trim()).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new BadRequestException("Invalid or expired OTP code");
+        }
+        oneTimePasswordRepository.delete(otp);
+    }
+
+    public void discardAll(UUID userId) {
+        oneTimePasswordRepository.deleteByUserId(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${security.otp.cleanup-interval-ms:300000}")
+    public void deleteExpired() {
+        int deleted = oneTimePasswordRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired one-time passwords", deleted);
+        }
+    }
+
+    private String hash(UUID userId, OtpPurpose purpose, String code) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            byte[] digest = mac.doFinal((userId + ":" + purpose.name() + ":" + code).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
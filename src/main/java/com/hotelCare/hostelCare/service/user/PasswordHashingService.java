@@ -0,0 +1,98 @@
+package com.hotelCare.hostelCare.service.user;
+import com.hotelCare.hostelCare.exception.InternalServerErrorException;
+import com.hotelCare.hostelCare.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs password hashing on the bounded {@code passwordHashingExecutor} so a burst of logins
+ * cannot take every core. When the pool and its queue are full, or a hash is not done within
+ * {@code security.password.hashing.timeout}, the caller gets a {@link TooManyRequestsException}
+ * (HTTP 429) instead of another request thread spinning on BCrypt.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final String HASH_METRIC = "password.hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolTaskExecutor executor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.password.hashing.timeout:PT5S}")
+    private Duration timeout;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            @Qualifier("passwordHashingExecutor") ThreadPoolTaskExecutor executor,
+            MeterRegistry meterRegistry
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = executor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public String encode(String rawPassword) {
+        return run("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks {@code rawPassword} against {@code storedHash} and, when it matches and the stored
+     * hash is outdated, computes its replacement in the same task.
+     */
+    public PasswordCheck verify(String rawPassword, String storedHash) {
+        return run("verify", () -> {
+            if (storedHash == null || !passwordEncoder.matches(rawPassword, storedHash)) {
+                return new PasswordCheck(false, null);
+            }
+            String upgraded = passwordEncoder.upgradeEncoding(storedHash) ? passwordEncoder.encode(rawPassword) : null;
+            return new PasswordCheck(true, upgraded);
+        });
+    }
+
+    private <T> T run(String operation, Callable<T> task) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        Future<T> future = null;
+        try {
+            future = executor.submit(task);
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TaskRejectedException e) {
+            outcome = "rejected";
+            throw new TooManyRequestsException("Too many sign-in attempts in progress, please retry shortly", e);
+        } catch (TimeoutException e) {
+            outcome = "timeout";
+            future.cancel(true);
+            throw new TooManyRequestsException("Too many sign-in attempts in progress, please retry shortly", e);
+        } catch (InterruptedException e) {
+            outcome = "interrupted";
+            Thread.currentThread().interrupt();
+            throw new InternalServerErrorException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            outcome = "error";
+            throw new InternalServerErrorException("Password hashing failed", e.getCause());
+        } finally {
+            Timer.builder(HASH_METRIC)
+                    .description("Password hash computations, including time queued for the hashing pool")
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** {@code rehashed} is the replacement hash when the stored one should be upgraded, otherwise {@code null}. */
+    public record PasswordCheck(boolean matches, String rehashed) {}
+}
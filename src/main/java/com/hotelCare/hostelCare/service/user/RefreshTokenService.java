@@ -0,0 +1,148 @@
+package com.hotelCare.hostelCare.service.user;
+import com.hotelCare.hostelCare.config.JWTConfig.JWTTokenGenerationLogic;
+import com.hotelCare.hostelCare.config.JWTConfig.RevokedTokenRegistry;
+import com.hotelCare.hostelCare.entity.user.RefreshToken;
+import com.hotelCare.hostelCare.entity.user.User;
+import com.hotelCare.hostelCare.exception.UnAuthorizedException;
+import com.hotelCare.hostelCare.repository.refreshTokenRepository.RefreshTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and checks refresh tokens against the {@code refresh_tokens} table. A login inserts one
+ * small row keyed by the hashed token id instead of rewriting the user row with both JWTs.
+ * Every refresh rotates the token; presenting one that was already rotated or revoked is treated
+ * as theft and ends all of the user's sessions.
+ */
+@Slf4j
+@Service
+@Transactional
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final int DEVICE_MAX_LENGTH = 255;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JWTTokenGenerationLogic jwtTokenGenerationLogic;
+    private final RevokedTokenRegistry revokedTokenRegistry;
+
+    public record Rotation(User user, String refreshToken) {}
+
+    public String issue(User user) {
+        String tokenId = UUID.randomUUID().toString();
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(tokenId))
+                .user(user)
+                .device(currentDevice())
+                .expiresAt(Instant.now().plusMillis(jwtTokenGenerationLogic.getRefreshTokenExpirationMs()))
+                .build());
+        return jwtTokenGenerationLogic.generateRefreshToken(user.getEmail(), tokenId);
+    }
+
+    /**
+     * Swaps a valid refresh token for a new one. The old row is revoked with a conditional update,
+     * so of two concurrent refreshes with the same token only one wins and the other counts as
+     * reuse. Reuse revocations are kept when the caller's transaction rolls back.
+     */
+    @Transactional(dontRollbackOn = UnAuthorizedException.class)
+    public Rotation rotate(String refreshToken) {
+        String tokenHash = hash(tokenId(refreshToken));
+        RefreshToken stored = refreshTokenRepository.findByTokenHashWithUser(tokenHash)
+                .orElseThrow(() -> new UnAuthorizedException("Invalid refresh token"));
+        User user = stored.getUser();
+
+        Instant now = Instant.now();
+        if (stored.getRevokedAt() != null || refreshTokenRepository.revokeByTokenHash(tokenHash, now) == 0) {
+            log.warn("Refresh token reuse detected for user {}; revoking all sessions", user.getId());
+            revokeAll(user);
+            throw new UnAuthorizedException("Refresh token has already been used. Please log in again.");
+        }
+        if (stored.getExpiresAt().isBefore(now)) {
+            throw new UnAuthorizedException("Refresh token has expired");
+        }
+        if (Boolean.TRUE.equals(user.getIsAccountBlocked())) {
+            revokeAll(user);
+            throw new UnAuthorizedException("Account is blocked. Contact support.");
+        }
+        return new Rotation(user, issue(user));
+    }
+
+    public void revoke(String refreshToken) {
+        String tokenId;
+        try {
+            tokenId = tokenId(refreshToken);
+        } catch (UnAuthorizedException e) {
+            return;
+        }
+        refreshTokenRepository.revokeByTokenHash(hash(tokenId), Instant.now());
+    }
+
+    /**
+     * Revokes every refresh token of the user and, through {@link RevokedTokenRegistry}, every
+     * access token issued so far.
+     */
+    public void revokeAll(User user) {
+        Instant now = Instant.now();
+        revokedTokenRegistry.revokeAllIssuedBefore(user.getEmail(), now.toEpochMilli());
+        int revoked = refreshTokenRepository.revokeAllByUserId(user.getId(), now);
+        if (revoked > 0) {
+            log.info("Revoked {} refresh tokens for user {}", revoked, user.getId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-token-cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired refresh tokens", deleted);
+        }
+    }
+
+    private String tokenId(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtTokenGenerationLogic.validateToken(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new UnAuthorizedException("Invalid refresh token", e);
+        }
+        if (!JWTTokenGenerationLogic.REFRESH_TOKEN_TYPE.equals(
+                claims.get(JWTTokenGenerationLogic.TOKEN_TYPE_CLAIM, String.class)) || claims.getId() == null) {
+            throw new UnAuthorizedException("Invalid refresh token");
+        }
+        return claims.getId();
+    }
+
+    private static String currentDevice() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return null;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String userAgent = request.getHeader(HttpHeaders.USER_AGENT);
+        if (userAgent == null || userAgent.isBlank()) return null;
+        return userAgent.length() > DEVICE_MAX_LENGTH ? userAgent.substring(0, DEVICE_MAX_LENGTH) : userAgent;
+    }
+
+    static String hash(String tokenId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(tokenId.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -9,35 +9,48 @@ import com.hotelCare.hostelCare.config.JavaMailSenderConfig.ElasticEmailService;
 import com.hotelCare.hostelCare.dto.user.*;
 import com.hotelCare.hostelCare.entity.user.User;
 import com.hotelCare.hostelCare.enums.AccountStatus;
+import com.hotelCare.hostelCare.enums.OtpPurpose;
 import com.hotelCare.hostelCare.enums.UserRole;
 import com.hotelCare.hostelCare.exception.BadRequestException;
 import com.hotelCare.hostelCare.exception.NotFoundException;
+import com.hotelCare.hostelCare.exception.UnAuthorizedException;
 import com.hotelCare.hostelCare.mappers.authMapper.AuthMapper;
 import com.hotelCare.hostelCare.repository.userRepository.UserRepository;
+import com.hotelCare.hostelCare.service.statistics.EntityCounters;
+import com.hotelCare.hostelCare.utils.NdjsonStreamWriter;
 import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseCookie;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 @Slf4j
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class UserService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final RefreshTokenService refreshTokenService;
+    private final OtpService otpService;
     private final JWTTokenGenerationLogic jwtTokenGenerationLogic;
     private final AuthMapper authMapper;
     private final ElasticEmailService elasticEmailService;
+    private final NdjsonStreamWriter ndjsonStreamWriter;
+    private final EntityManager entityManager;
+    private final EntityCounters entityCounters;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${FIREBASE_PRIVATE_KEY}")
     private String firebasePrivateKey;
@@ -60,12 +73,7 @@ public class UserService {
     }
 
     public String generate2FACode(User savedUser) {
-        String otp = String.valueOf((int)(Math.random() * 900000) + 100000);
-        savedUser.setTwoFactorExpiryTime(LocalDateTime.now().plusMinutes(5)); // Changed to 5 minutes
-        savedUser.setTwoFactorAttemptsLeft(3);
-        savedUser.setTwoFactorCode(otp);
-        userRepository.save(savedUser);
-        return otp;
+        return otpService.issue(savedUser, OtpPurpose.ACCOUNT_VERIFICATION);
     }
 
     public void send2FACodeEmail(String toEmail, String code) {
@@ -73,9 +81,6 @@ public class UserService {
     }
 
     private void activateUser(User user) {
-        user.setTwoFactorCode(null);
-        user.setTwoFactorExpiryTime(null);
-        user.setTwoFactorAttemptsLeft(0);
         user.setIsAccountActive(true);
         user.setIsAccountVerified(true);
         user.setIsAccountBlocked(false);
@@ -94,7 +99,7 @@ public class UserService {
 
         newUser.setRole(UserRole.CUSTOMER);
 
-        newUser.setPassword(passwordEncoder.encode(authRequestDto.password()));
+        newUser.setPassword(passwordHashingService.encode(authRequestDto.password()));
 
         User savedUser = userRepository.save(newUser);
 
@@ -104,14 +109,24 @@ public class UserService {
         return authMapper.toUserResponseDto(savedUser);
     }
 
+    /**
+     * Runs without a surrounding transaction so no database connection is held while the password
+     * hash is checked; an upgraded hash is written afterwards in its own short transaction.
+     */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public UserResponseDto login(LoginRequestDto loginRequestDto, HttpServletResponse response) {
 
         User user = userRepository.findByEmail(loginRequestDto.email())
                 .orElseThrow(() -> new NotFoundException("User with email " + loginRequestDto.email() + " not found"));
 
-        if (!passwordEncoder.matches(loginRequestDto.password(), user.getPassword())) {
+        PasswordHashingService.PasswordCheck passwordCheck =
+                passwordHashingService.verify(loginRequestDto.password(), user.getPassword());
+        if (!passwordCheck.matches()) {
             throw new BadRequestException("Invalid email or password");
         }
+        if (passwordCheck.rehashed() != null) {
+            transactionTemplate.executeWithoutResult(status -> reload(user).setPassword(passwordCheck.rehashed()));
+        }
 
         if (Boolean.TRUE.equals(user.getIsAccountBlocked())) {
             throw new BadRequestException("Account is blocked. Contact support.");
@@ -124,11 +139,7 @@ public class UserService {
         }
 
         String accessToken = jwtTokenGenerationLogic.generateAccessToken(user.getEmail(), user.getRole().name());
-        String refreshToken = jwtTokenGenerationLogic.generateRefreshToken(user.getEmail());
-
-        user.setAccessToken(accessToken);
-        user.setRefreshToken(refreshToken);
-        userRepository.save(user);
+        String refreshToken = refreshTokenService.issue(user);
 
         // 6️⃣ Set cookies
         ResponseCookie accessCookie = ResponseCookie.from("accessToken", accessToken)
@@ -153,47 +164,48 @@ public class UserService {
         return authMapper.toUserResponseDto(user);
     }
 
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
     public LoginResult superAdminLogin(AdminRequestDto dto) {
 
-        User admin = userRepository.findByEmail(dto.email().trim().toLowerCase())
+        User found = userRepository.findByEmail(dto.email().trim().toLowerCase())
                 .orElseThrow(() -> new NotFoundException("Admin not found"));
 
-        if (!passwordEncoder.matches(dto.password(), admin.getPassword())) {
+        PasswordHashingService.PasswordCheck passwordCheck =
+                passwordHashingService.verify(dto.password(), found.getPassword());
+        if (!passwordCheck.matches()) {
             throw new BadRequestException("Invalid credentials");
         }
 
-        if (Boolean.TRUE.equals(admin.getIsAccountBlocked())) {
+        if (Boolean.TRUE.equals(found.getIsAccountBlocked())) {
             throw new BadRequestException("Account blocked. Contact support.");
         }
 
-        admin.setRole(UserRole.SUPER_ADMIN);
+        User admin = transactionTemplate.execute(status -> {
+            User current = reload(found);
+            if (passwordCheck.rehashed() != null) {
+                current.setPassword(passwordCheck.rehashed());
+            }
+            current.setRole(UserRole.SUPER_ADMIN);
+            return current;
+        });
 
         String accessToken = jwtTokenGenerationLogic.generateAccessToken(admin.getEmail(), admin.getRole().name());
-        String refreshToken = jwtTokenGenerationLogic.generateRefreshToken(admin.getEmail());
-
-        admin.setRefreshToken(refreshToken);
-        userRepository.save(admin);
+        String refreshToken = refreshTokenService.issue(admin);
 
         return new LoginResult(authMapper.toUserResponseDto(admin), accessToken, refreshToken);
     }
 
+    @Transactional(dontRollbackOn = BadRequestException.class)
     public UserResponseDto verifyOTP(VerifyOTP verifyOTP, HttpServletResponse response) {
-        User user = userRepository.findByTwoFactorCode(verifyOTP.twoFactorCode())
+        User user = userRepository.findByEmail(verifyOTP.email().trim().toLowerCase())
                 .orElseThrow(() -> new NotFoundException("User not found"));
 
-        if (user.getTwoFactorCode() == null ||
-                !user.getTwoFactorCode().equals(verifyOTP.twoFactorCode()) ||
-                user.getTwoFactorExpiryTime() == null ||
-                user.getTwoFactorExpiryTime().isBefore(LocalDateTime.now())) {
-            throw new BadRequestException("Invalid or expired OTP code");
-        }
+        otpService.verify(user, OtpPurpose.ACCOUNT_VERIFICATION, verifyOTP.twoFactorCode());
 
         activateUser(user);
 
         String accessToken = jwtTokenGenerationLogic.generateAccessToken(user.getEmail(), user.getRole().name());
-        String refreshToken = jwtTokenGenerationLogic.generateRefreshToken(user.getEmail());
-        user.setAccessToken(accessToken);
-        user.setRefreshToken(refreshToken);
+        String refreshToken = refreshTokenService.issue(user);
 
         userRepository.save(user);
 
@@ -220,6 +232,11 @@ public class UserService {
         return authMapper.toUserResponseDto(user);
     }
 
+    private User reload(User user) {
+        return userRepository.findById(user.getId())
+                .orElseThrow(() -> new NotFoundException("User not found"));
+    }
+
     public void resentOTP(ResendOTPDto resendOTPDto) {
         User user = userRepository.findByEmail(resendOTPDto.email())
                 .orElseThrow(() -> new NotFoundException("User not found"));
@@ -229,19 +246,47 @@ public class UserService {
         if(Boolean.TRUE.equals(user.getIsAccountBlocked())) {
             throw new BadRequestException("User is already blocked. OTP can't be sent to blocked accounts");
         }
-        if (user.getFailedLoginAttempts() != null && user.getFailedLoginAttempts() >= 5) {
-            throw new BadRequestException(
-                    "You've reached the maximum attempts to request an OTP for this account. Please try again later"
-            );
-        }
         String otp = generate2FACode(user);
-        user.setTwoFactorCode(otp);
-        user.setOtpExpiresAt(LocalDateTime.now().plusMinutes(10));
-        userRepository.save(user);
         send2FACodeEmail(user.getEmail(), otp);
     }
 
-    public void logoutUser(HttpServletResponse response) {
+    @Transactional(dontRollbackOn = UnAuthorizedException.class)
+    public UserResponseDto refreshAccessToken(String refreshToken, HttpServletResponse response) {
+        if (refreshToken == null || refreshToken.isBlank()) {
+            throw new UnAuthorizedException("Refresh token is missing");
+        }
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        User user = rotation.user();
+
+        String accessToken = jwtTokenGenerationLogic.generateAccessToken(user.getEmail(), user.getRole().name());
+
+        ResponseCookie accessCookie = ResponseCookie.from("accessToken", accessToken)
+                .httpOnly(true)
+                .secure(true)
+                .sameSite("Strict")
+                .path("/")
+                .maxAge(15 * 60)
+                .build();
+
+        ResponseCookie refreshCookie = ResponseCookie.from("refreshToken", rotation.refreshToken())
+                .httpOnly(true)
+                .secure(true)
+                .sameSite("Strict")
+                .path("/")
+                .maxAge(30 * 24 * 60 * 60)
+                .build();
+
+        response.addHeader("Set-Cookie", accessCookie.toString());
+        response.addHeader("Set-Cookie", refreshCookie.toString());
+
+        return authMapper.toUserResponseDto(user);
+    }
+
+    public void logoutUser(String refreshToken, HttpServletResponse response) {
+        if (refreshToken != null && !refreshToken.isBlank()) {
+            refreshTokenService.revoke(refreshToken);
+        }
+
         ResponseCookie accessCookie = ResponseCookie.from("accessToken", "")
                 .httpOnly(true)
                 .secure(true)
@@ -261,12 +306,18 @@ public class UserService {
     }
 
     public List<UserResponseDto> getAllUsers() {
-        return  userRepository.findAll()
+        return  userRepository.findAllWithProfile()
                 .stream()
                 .map(authMapper::toUserResponseDto)
                 .toList();
     }
 
+    public long streamAllUsers(OutputStream out) throws IOException {
+        try (Stream<User> users = userRepository.streamAllWithProfile()) {
+            return ndjsonStreamWriter.write(users, authMapper::toUserResponseDto, entityManager::detach, out);
+        }
+    }
+
     public  UserResponseDto getUserById(UUID userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new NotFoundException("User not found!"));
         return  authMapper.toUserResponseDto(user);
@@ -286,6 +337,7 @@ public class UserService {
         }
         user.setIsAccountBlocked(true);
         User saved = userRepository.save(user);
+        refreshTokenService.revokeAll(saved);
         return  authMapper.toUserResponseDto(saved);
     }
 
@@ -300,7 +352,7 @@ public class UserService {
     }
 
     public long countTotalUsers() {
-        return userRepository.count();
+        return entityCounters.count(User.class);
     }
 
     public String forgotPassword(ForgotPasswordDto forgotPasswordDto) {
@@ -308,16 +360,14 @@ public class UserService {
                 () -> new NotFoundException("User not found.")
         );
 
-        String resetCode = generate2FACode(user);
-        user.setTwoFactorCode(resetCode);
-        user.setTwoFactorExpiryTime(LocalDateTime.now().plusMinutes(15));
-        userRepository.save(user);
+        String resetCode = otpService.issue(user, OtpPurpose.PASSWORD_RESET);
 
         elasticEmailService.sendPasswordResetEmail(forgotPasswordDto.email(), resetCode);
 
         return user.getEmail();
     }
 
+    @Transactional(dontRollbackOn = BadRequestException.class)
     public void resetPassword(ResetPasswordDto resetPasswordDto, UUID userId) {
 
         User user = userRepository.findById(userId)
@@ -330,9 +380,11 @@ public class UserService {
         if (!user.getId().equals(userId)) {
             throw new BadRequestException("Reset token does not match this user");
         }
-        user.setPassword(passwordEncoder.encode(resetPasswordDto.password()));
-        user.setTwoFactorCode(null);
-        user.setTwoFactorExpiryTime(null);
+        otpService.verify(user, OtpPurpose.PASSWORD_RESET, resetPasswordDto.code());
+
+        user.setPassword(passwordHashingService.encode(resetPasswordDto.password()));
+        refreshTokenService.revokeAll(user);
+        otpService.discardAll(user.getId());
 
         userRepository.save(user);
     }
@@ -364,7 +416,7 @@ public class UserService {
         }
     }
 
-    public User loginWithGoogle(String googleToken) throws FirebaseAuthException {
+    public LoginResult loginWithGoogle(String googleToken) throws FirebaseAuthException {
         FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(googleToken);
         if (decodedToken == null || decodedToken.getEmail() == null || decodedToken.getEmail().isBlank()) {
             throw new BadRequestException("Invalid Firebase token");
@@ -373,9 +425,7 @@ public class UserService {
         User auth = userRepository.findByEmail(email)
                 .orElseGet(() -> createUserFromFirebase(decodedToken));
         String accessToken = jwtTokenGenerationLogic.generateAccessToken(auth.getEmail().trim().toLowerCase(), String.valueOf(auth.getRole()));
-        String refreshToken = jwtTokenGenerationLogic.generateRefreshToken(auth.getEmail().trim().toLowerCase());
-        auth.setAccessToken(accessToken);
-        auth.setRefreshToken(refreshToken);
-        return userRepository.save(auth);
+        String refreshToken = refreshTokenService.issue(auth);
+        return new LoginResult(authMapper.toUserResponseDto(auth), accessToken, refreshToken);
     }
 }
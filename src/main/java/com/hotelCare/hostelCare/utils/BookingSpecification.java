@@ -1,10 +1,13 @@
 package com.hotelCare.hostelCare.utils;
 import com.hotelCare.hostelCare.dto.bookings.BookingSearchRequestDto;
 import com.hotelCare.hostelCare.entity.booking.Booking;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import org.springframework.data.jpa.domain.Specification;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 public class BookingSpecification {
 
@@ -30,6 +33,11 @@ public class BookingSpecification {
                 predicates.add(cb.equal(root.get("paymentMethod"), dto.paymentMethod()));
             }
 
+            String tsQuery = FullTextSearch.toTsQuery(dto.keyword());
+            if (tsQuery != null) {
+                predicates.add(FullTextSearch.matches(root, cb, tsQuery));
+            }
+
             if (dto.region() != null && !dto.region().isBlank()) {
                 predicates.add(
                         cb.like(cb.lower(root.get("region")),
@@ -99,4 +107,41 @@ public class BookingSpecification {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /** Orders by full-text relevance, newest first among equal ranks. Leaves count queries alone. */
+    public static Specification<Booking> rankedBy(String tsQuery) {
+
+        return (root, query, cb) -> {
+
+            if (query.getResultType() != Long.class && query.getResultType() != long.class) {
+                query.orderBy(
+                        cb.desc(FullTextSearch.rank(root, cb, tsQuery)),
+                        cb.desc(root.get("createdAt")),
+                        cb.desc(root.get("id"))
+                );
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Booking> after(BookingCursor cursor, boolean descending) {
+
+        return (root, query, cb) -> {
+
+            Path<Instant> createdAt = root.get("createdAt");
+            Path<UUID> id = root.get("id");
+
+            if (descending) {
+                return cb.or(
+                        cb.lessThan(createdAt, cursor.createdAt()),
+                        cb.and(cb.equal(createdAt, cursor.createdAt()), cb.lessThan(id, cursor.id()))
+                );
+            }
+
+            return cb.or(
+                    cb.greaterThan(createdAt, cursor.createdAt()),
+                    cb.and(cb.equal(createdAt, cursor.createdAt()), cb.greaterThan(id, cursor.id()))
+            );
+        };
+    }
 }
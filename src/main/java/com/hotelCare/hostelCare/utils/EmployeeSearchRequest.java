@@ -21,8 +21,8 @@ public class EmployeeSearchRequest {
     @Builder.Default
     private Integer size = 20;
 
-    @Builder.Default
-    private String sortBy = "createdAt";
+    /** Column to sort by; defaults to relevance for keyword searches and createdAt otherwise. */
+    private String sortBy;
 
     @Builder.Default
     private String sortDir = "desc";
@@ -44,16 +44,20 @@ public class EmployeeSearchRequest {
 
     private String salaryType;
 
+    public String toTsQuery() {
+        return FullTextSearch.toTsQuery(keyword);
+    }
+
     public Pageable toPageable() {
         Sort sort = Sort.unsorted();
 
-        if (sortBy != null && !sortBy.isBlank()) {
+        if (!FullTextSearch.sortsByRelevance(toTsQuery(), sortBy)) {
             Sort.Direction direction =
                     "asc".equalsIgnoreCase(sortDir)
                             ? Sort.Direction.ASC
                             : Sort.Direction.DESC;
 
-            sort = Sort.by(direction, sortBy);
+            sort = Sort.by(direction, sortBy == null || sortBy.isBlank() ? "createdAt" : sortBy);
         }
 
         return PageRequest.of(
@@ -64,21 +68,22 @@ public class EmployeeSearchRequest {
     }
 
     public Specification<Employee> toSpecification() {
+        String tsQuery = toTsQuery();
+        boolean rankResults = FullTextSearch.sortsByRelevance(tsQuery, sortBy);
+
         return (root, query, cb) -> {
             var predicate = cb.conjunction();
 
-            if (keyword != null && !keyword.isBlank()) {
-                String like = "%" + keyword.toLowerCase().trim() + "%";
-                predicate = cb.and(predicate,
-                        cb.or(
-                                cb.like(cb.lower(root.get("firstName")), like),
-                                cb.like(cb.lower(root.get("lastName")), like),
-                                cb.like(cb.lower(root.get("email")), like),
-                                cb.like(cb.lower(root.get("phoneNumber")), like),
-                                cb.like(cb.lower(root.get("jobTitle")), like),
-                                cb.like(cb.lower(root.get("department")), like)
-                        )
-                );
+            if (tsQuery != null) {
+                predicate = cb.and(predicate, FullTextSearch.matches(root, cb, tsQuery));
+
+                if (rankResults && query.getResultType() != Long.class && query.getResultType() != long.class) {
+                    query.orderBy(
+                            cb.desc(FullTextSearch.rank(root, cb, tsQuery)),
+                            cb.desc(root.get("createdAt")),
+                            cb.desc(root.get("id"))
+                    );
+                }
             }
 
             if (department != null && !department.isBlank()) {
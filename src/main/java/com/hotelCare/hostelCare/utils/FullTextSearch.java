@@ -0,0 +1,50 @@
+package com.hotelCare.hostelCare.utils;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a free-text keyword into a prefix {@code tsquery} and exposes the matching and ranking
+ * expressions used by the search specifications. Every term must match and each is a prefix, so
+ * "jo smi" finds "John Smith".
+ */
+public final class FullTextSearch {
+
+    public static final String RELEVANCE = "relevance";
+
+    private static final int MAX_TERMS = 8;
+
+    private FullTextSearch() {
+    }
+
+    /** Returns the tsquery text for {@code keyword}, or {@code null} when it has no searchable term. */
+    public static String toTsQuery(String keyword) {
+        if (keyword == null || keyword.isBlank()) return null;
+
+        String query = Arrays.stream(keyword.toLowerCase(Locale.ROOT).trim().split("\\s+"))
+                .map(term -> term.replaceAll("[^\\p{L}\\p{N}@._+-]", ""))
+                .filter(term -> term.codePoints().anyMatch(Character::isLetterOrDigit))
+                .limit(MAX_TERMS)
+                .map(term -> "'" + term + "':*")
+                .collect(Collectors.joining(" & "));
+
+        return query.isEmpty() ? null : query;
+    }
+
+    public static Predicate matches(Root<?> root, CriteriaBuilder cb, String tsQuery) {
+        return cb.isTrue(cb.function("fts_match", Boolean.class, root.get("id"), cb.literal(tsQuery)));
+    }
+
+    public static Expression<Double> rank(Root<?> root, CriteriaBuilder cb, String tsQuery) {
+        return cb.function("fts_rank", Double.class, root.get("id"), cb.literal(tsQuery));
+    }
+
+    /** True when results should be ordered by relevance rather than by a column. */
+    public static boolean sortsByRelevance(String tsQuery, String sortBy) {
+        return tsQuery != null && (sortBy == null || sortBy.isBlank() || RELEVANCE.equalsIgnoreCase(sortBy));
+    }
+}
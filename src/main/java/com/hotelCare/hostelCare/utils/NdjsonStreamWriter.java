@@ -0,0 +1,55 @@
+package com.hotelCare.hostelCare.utils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Writes a row stream as newline-delimited JSON, one value per line, flushing in fixed-size chunks
+ * so the response is sent incrementally without buffering the whole result set.
+ */
+@Component
+public class NdjsonStreamWriter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectWriter writer;
+
+    public NdjsonStreamWriter(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public <T, R> long write(Stream<T> rows, Function<T, R> mapper, Consumer<T> afterWrite, OutputStream out) throws IOException {
+        long count = 0;
+
+        try (SequenceWriter sequence = writer.writeValues(out)) {
+            Iterator<T> it = rows.iterator();
+            while (it.hasNext()) {
+                T row = it.next();
+                sequence.write(mapper.apply(row));
+                afterWrite.accept(row);
+
+                if (++count % FLUSH_EVERY == 0) {
+                    sequence.flush();
+                }
+            }
+
+            sequence.flush();
+            if (count > 0) {
+                out.write('\n');
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,12 @@
+-- Incoming Stripe webhooks are stored by event id before they are processed, so a redelivered
+-- event is recognised and processing can happen off the request thread.
+
+CREATE TABLE IF NOT EXISTS stripe_webhook_events (
+    event_id     VARCHAR(255) NOT NULL PRIMARY KEY,
+    type         VARCHAR(100) NOT NULL,
+    payload      TEXT         NOT NULL,
+    received_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    processed_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX IF NOT EXISTS idx_stripe_webhook_events_unprocessed ON stripe_webhook_events (processed_at, received_at);
@@ -0,0 +1,5 @@
+-- Stripe keeps the result of a request, failures included, for 24 hours per idempotency key, so a
+-- retried outbox command has to be sent under a new key. The generation is bumped on every retry
+-- and appended to the key the dispatcher sends.
+
+ALTER TABLE payment_outbox_events ADD COLUMN IF NOT EXISTS retry_generation INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,165 @@
+-- Schema as generated by Hibernate before migrations were introduced. Databases that already
+-- have these tables are baselined at version 1 (spring.flyway.baseline-on-migrate) and skip it.
+
+CREATE TABLE users (
+    id                       UUID         NOT NULL PRIMARY KEY,
+    first_name               VARCHAR(50)  NOT NULL,
+    last_name                VARCHAR(50)  NOT NULL,
+    email                    VARCHAR(255) NOT NULL UNIQUE,
+    password                 VARCHAR(255) NOT NULL,
+    role                     VARCHAR(20)  NOT NULL,
+    status                   VARCHAR(255) NOT NULL,
+    blocked                  BOOLEAN      NOT NULL,
+    active                   BOOLEAN      NOT NULL,
+    is_account_confirmed     BOOLEAN      NOT NULL,
+    is_account_verified      BOOLEAN      NOT NULL,
+    magic_link_token         VARCHAR(255),
+    magic_link_expires_at    TIMESTAMP(6),
+    two_factor_code          VARCHAR(255),
+    two_factor_expiry_time   TIMESTAMP(6),
+    two_factor_attempts_left INTEGER      NOT NULL,
+    failed_login_attempts    INTEGER      NOT NULL,
+    otp_expires_at           TIMESTAMP(6),
+    access_token             VARCHAR(1000),
+    refresh_token            VARCHAR(1000),
+    created_at               TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at               TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE customer_profile (
+    user_id                UUID         NOT NULL PRIMARY KEY REFERENCES users (id),
+    first_name             VARCHAR(100),
+    last_name              VARCHAR(100),
+    email                  VARCHAR(255) UNIQUE,
+    profile_pic            VARCHAR(255),
+    age                    INTEGER,
+    date_of_birth          DATE,
+    region                 VARCHAR(100),
+    city                   VARCHAR(100),
+    address                VARCHAR(100),
+    country                VARCHAR(255),
+    phone_number           VARCHAR(20),
+    emergency_contact      VARCHAR(20),
+    occupation             VARCHAR(100),
+    marital_status         VARCHAR(255),
+    special_requests       VARCHAR(500),
+    newsletter_subscribed  BOOLEAN,
+    is_profile_completed   BOOLEAN,
+    created_at             TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at             TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE bookings (
+    id                  UUID           NOT NULL PRIMARY KEY,
+    name                VARCHAR(255)   NOT NULL,
+    image_url           VARCHAR(255),
+    description         VARCHAR(1000),
+    region              VARCHAR(255)   NOT NULL,
+    country             VARCHAR(255)   NOT NULL,
+    check_in_date       TIMESTAMP(6)   NOT NULL,
+    check_out_date      TIMESTAMP(6)   NOT NULL,
+    number_of_nights    INTEGER        NOT NULL,
+    number_of_guests    INTEGER        NOT NULL,
+    number_of_rooms     INTEGER        NOT NULL,
+    max_guests          INTEGER,
+    price_per_night     NUMERIC(38, 2) NOT NULL,
+    subtotal            NUMERIC(38, 2) NOT NULL,
+    tax_amount          NUMERIC(38, 2),
+    discount_amount     NUMERIC(38, 2),
+    total_amount        NUMERIC(38, 2) NOT NULL,
+    payment_reference   VARCHAR(255),
+    payment_method      VARCHAR(255),
+    is_paid             BOOLEAN,
+    payment_date        TIMESTAMP(6),
+    status              VARCHAR(30)    NOT NULL,
+    is_cancelled        VARCHAR(255),
+    cancelled_at        TIMESTAMP(6),
+    cancellation_reason VARCHAR(500),
+    user_id             UUID           NOT NULL REFERENCES users (id),
+    updated_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE payments (
+    id                       UUID           NOT NULL PRIMARY KEY,
+    booking_id               UUID           NOT NULL UNIQUE REFERENCES bookings (id),
+    user_id                  UUID           NOT NULL UNIQUE REFERENCES users (id),
+    amount                   NUMERIC(12, 2) NOT NULL,
+    provider                 VARCHAR(255)   NOT NULL,
+    status                   VARCHAR(30)    NOT NULL,
+    purpose                  VARCHAR(120),
+    method                   VARCHAR(30),
+    reference                VARCHAR(60)    UNIQUE,
+    stripe_payment_intent_id VARCHAR(255)   UNIQUE,
+    stripe_charge_id         VARCHAR(255)   UNIQUE,
+    paypal_order_id          VARCHAR(255)   UNIQUE,
+    paypal_capture_id        VARCHAR(255)   UNIQUE,
+    provider_message         VARCHAR(600),
+    metadata                 VARCHAR(2000),
+    currency                 VARCHAR(255),
+    paid_at                  TIMESTAMP(6) WITH TIME ZONE,
+    cancelled_at             TIMESTAMP(6) WITH TIME ZONE,
+    refunded_at              TIMESTAMP(6) WITH TIME ZONE,
+    created_at               TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at               TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    version                  BIGINT
+);
+
+CREATE INDEX idx_payments_booking_id ON payments (booking_id);
+CREATE INDEX idx_payments_user_id ON payments (user_id);
+CREATE INDEX idx_payments_provider ON payments (provider);
+CREATE INDEX idx_payments_status ON payments (status);
+CREATE INDEX idx_payments_stripe_payment_intent ON payments (stripe_payment_intent_id);
+CREATE INDEX idx_payments_paypal_order ON payments (paypal_order_id);
+
+CREATE TABLE reviews (
+    id              UUID          NOT NULL PRIMARY KEY,
+    booking_id      UUID          NOT NULL UNIQUE REFERENCES bookings (id),
+    user_id         UUID          NOT NULL REFERENCES users (id),
+    rating          INTEGER       NOT NULL,
+    comment         VARCHAR(1000),
+    verified        BOOLEAN       NOT NULL,
+    status          VARCHAR(20)   NOT NULL,
+    moderation_note VARCHAR(500),
+    helpful_count   INTEGER       NOT NULL,
+    anonymous       BOOLEAN       NOT NULL,
+    deleted         BOOLEAN       NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_reviews_booking_id ON reviews (booking_id);
+CREATE INDEX idx_reviews_user_id ON reviews (user_id);
+CREATE INDEX idx_reviews_status ON reviews (status);
+
+CREATE TABLE employees (
+    id                        UUID         NOT NULL PRIMARY KEY,
+    first_name                VARCHAR(100) NOT NULL,
+    last_name                 VARCHAR(100) NOT NULL,
+    email                     VARCHAR(150) NOT NULL UNIQUE,
+    phone_number              VARCHAR(20),
+    profile_pic               VARCHAR(500),
+    job_title                 VARCHAR(100) NOT NULL,
+    department                VARCHAR(100) NOT NULL,
+    hire_date                 DATE         NOT NULL,
+    termination_date          DATE,
+    active                    BOOLEAN      NOT NULL,
+    date_of_birth             DATE,
+    gender                    VARCHAR(20),
+    address                   VARCHAR(255),
+    city                      VARCHAR(100),
+    region                    VARCHAR(100),
+    country                   VARCHAR(100),
+    emergency_contact_name    VARCHAR(50),
+    emergency_contact_phone   VARCHAR(20),
+    salary                    FLOAT(53)    NOT NULL,
+    salary_type               VARCHAR(50),
+    bank_name                 VARCHAR(100),
+    bank_account_number       VARCHAR(100),
+    tax_identification_number VARCHAR(50),
+    can_access_system         BOOLEAN      NOT NULL,
+    is_on_duty                BOOLEAN      NOT NULL,
+    is_verified               BOOLEAN      NOT NULL,
+    created_at                TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at                TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,2 @@
+-- Trigram operator classes for the substring (LIKE '%x%') filters in booking search.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
@@ -0,0 +1,39 @@
+-- Indexes for the predicates in BookingSpecification and the list queries in BookingRepository.
+-- Built CONCURRENTLY so existing deployments keep accepting bookings while they build;
+-- Flyway runs this script outside a transaction.
+
+-- Admin lists by status, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_status_created_at
+    ON bookings (status, created_at DESC);
+
+-- A customer's bookings, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_user_id_created_at
+    ON bookings (user_id, created_at DESC);
+
+-- Keyset pagination: ORDER BY created_at, id with (created_at, id) cursor comparisons
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_created_at_id
+    ON bookings (created_at DESC, id DESC);
+
+-- Check-in range, optionally narrowed by check-out
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_check_in_check_out
+    ON bookings (check_in_date, check_out_date);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_check_out
+    ON bookings (check_out_date);
+
+-- Unpaid bookings are a small, frequently polled slice
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_unpaid_created_at
+    ON bookings (created_at DESC)
+    WHERE is_paid = false;
+
+-- Upcoming stays exclude cancelled bookings
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_active_check_in
+    ON bookings (check_in_date)
+    WHERE is_cancelled = 'FALSE';
+
+-- lower(region) LIKE '%x%' and lower(country) LIKE '%x%'
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_region_trgm
+    ON bookings USING gin (lower(region) gin_trgm_ops);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_country_trgm
+    ON bookings USING gin (lower(country) gin_trgm_ops);
@@ -0,0 +1,47 @@
+-- Weighted tsvector columns for keyword search, kept current by triggers so every writer
+-- (JPA, bulk SQL, manual fixes) updates them. The 'simple' configuration is used because the
+-- indexed text is mostly names, places and emails, which stemming would only mangle.
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION bookings_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector :=
+            setweight(to_tsvector('simple', coalesce(NEW.name, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(NEW.region, '') || ' ' || coalesce(NEW.country, '')), 'B') ||
+            setweight(to_tsvector('simple', coalesce(NEW.description, '')), 'C');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS bookings_search_vector_trigger ON bookings;
+CREATE TRIGGER bookings_search_vector_trigger
+    BEFORE INSERT OR UPDATE OF name, region, country, description ON bookings
+    FOR EACH ROW EXECUTE FUNCTION bookings_search_vector_update();
+
+UPDATE bookings SET search_vector =
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(region, '') || ' ' || coalesce(country, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'C');
+
+ALTER TABLE employees ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE OR REPLACE FUNCTION employees_search_vector_update() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector :=
+            setweight(to_tsvector('simple', coalesce(NEW.first_name, '') || ' ' || coalesce(NEW.last_name, '')), 'A') ||
+            setweight(to_tsvector('simple', coalesce(NEW.email, '') || ' ' || coalesce(NEW.phone_number, '')), 'B') ||
+            setweight(to_tsvector('simple', coalesce(NEW.job_title, '') || ' ' || coalesce(NEW.department, '')), 'C');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS employees_search_vector_trigger ON employees;
+CREATE TRIGGER employees_search_vector_trigger
+    BEFORE INSERT OR UPDATE OF first_name, last_name, email, phone_number, job_title, department ON employees
+    FOR EACH ROW EXECUTE FUNCTION employees_search_vector_update();
+
+UPDATE employees SET search_vector =
+        setweight(to_tsvector('simple', coalesce(first_name, '') || ' ' || coalesce(last_name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(email, '') || ' ' || coalesce(phone_number, '')), 'B') ||
+        setweight(to_tsvector('simple', coalesce(job_title, '') || ' ' || coalesce(department, '')), 'C');
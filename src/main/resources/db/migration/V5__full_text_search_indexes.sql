@@ -0,0 +1,6 @@
+-- GIN indexes for search_vector @@ to_tsquery(...), including prefix (:*) queries.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_bookings_search_vector
+    ON bookings USING gin (search_vector);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_employees_search_vector
+    ON employees USING gin (search_vector);
@@ -0,0 +1,19 @@
+-- Refresh tokens move out of the users row into their own narrow table: a login inserts one row
+-- keyed by the SHA-256 of the token id instead of rewriting two 1000-character JWT columns.
+-- Tokens stored on users are dropped, so existing sessions must sign in again.
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id         UUID         NOT NULL PRIMARY KEY,
+    token_hash VARCHAR(64)  NOT NULL UNIQUE,
+    user_id    UUID         NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    device     VARCHAR(255),
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP(6) WITH TIME ZONE,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+
+ALTER TABLE users DROP COLUMN IF EXISTS access_token;
+ALTER TABLE users DROP COLUMN IF EXISTS refresh_token;
@@ -0,0 +1,21 @@
+-- One-time codes move out of users into a table keyed by (user_id, purpose), so verification is
+-- a point lookup by user instead of a scan on users.two_factor_code. Codes are stored as an HMAC.
+-- Codes still pending on users are dropped; affected users can request a new one.
+
+CREATE TABLE IF NOT EXISTS one_time_passwords (
+    id            UUID         NOT NULL PRIMARY KEY,
+    user_id       UUID         NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    purpose       VARCHAR(30)  NOT NULL,
+    code_hash     VARCHAR(64)  NOT NULL,
+    attempts_left INTEGER      NOT NULL,
+    expires_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    created_at    TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_one_time_passwords_user_purpose UNIQUE (user_id, purpose)
+);
+
+CREATE INDEX IF NOT EXISTS idx_one_time_passwords_expires_at ON one_time_passwords (expires_at);
+
+ALTER TABLE users DROP COLUMN IF EXISTS two_factor_code;
+ALTER TABLE users DROP COLUMN IF EXISTS two_factor_expiry_time;
+ALTER TABLE users DROP COLUMN IF EXISTS two_factor_attempts_left;
+ALTER TABLE users DROP COLUMN IF EXISTS otp_expires_at;
@@ -0,0 +1,13 @@
+-- Emails that still failed after every retry, kept for inspection instead of only being logged.
+
+CREATE TABLE IF NOT EXISTS email_dead_letters (
+    id         UUID          NOT NULL PRIMARY KEY,
+    recipient  VARCHAR(255)  NOT NULL,
+    subject    VARCHAR(255)  NOT NULL,
+    attempts   INTEGER       NOT NULL,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_dead_letters_recipient ON email_dead_letters (recipient);
+CREATE INDEX IF NOT EXISTS idx_email_dead_letters_created_at ON email_dead_letters (created_at);
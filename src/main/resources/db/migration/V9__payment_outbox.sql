@@ -0,0 +1,33 @@
+-- Stripe calls leave the request transaction: cancel, refund and create-intent commands are queued
+-- here and sent by the outbox dispatcher. Bulk cancel/refund requests are recorded as a job that
+-- their queued commands point back to.
+
+CREATE TABLE IF NOT EXISTS payment_bulk_jobs (
+    id               UUID         NOT NULL PRIMARY KEY,
+    command_type     VARCHAR(30)  NOT NULL,
+    reason           VARCHAR(600),
+    requested        INTEGER      NOT NULL,
+    queued           INTEGER      NOT NULL,
+    applied_directly INTEGER      NOT NULL,
+    skipped          INTEGER      NOT NULL,
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS payment_outbox_events (
+    id              UUID          NOT NULL PRIMARY KEY,
+    payment_id      UUID          NOT NULL,
+    command_type    VARCHAR(30)   NOT NULL,
+    idempotency_key VARCHAR(100)  NOT NULL UNIQUE,
+    status          VARCHAR(20)   NOT NULL,
+    reason          VARCHAR(600),
+    job_id          UUID,
+    attempts        INTEGER       NOT NULL,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    last_error      VARCHAR(1000),
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_payment_outbox_status_next_attempt ON payment_outbox_events (status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_payment_outbox_payment_id ON payment_outbox_events (payment_id);
+CREATE INDEX IF NOT EXISTS idx_payment_outbox_job_id ON payment_outbox_events (job_id);
@@ -0,0 +1,149 @@
+package com.hotelCare.hostelCare;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against a throwaway PostgreSQL, loads a realistic spread of bookings
+ * and checks that the booking search predicates are answered from the intended indexes.
+ * Skipped when Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class BookingIndexPlanTests {
+
+	private static final int USERS = 200;
+	private static final int BOOKINGS = 50_000;
+
+	@Container
+	private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+	@BeforeAll
+	static void migrateAndSeed() throws SQLException {
+		Flyway.configure()
+				.dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+				.locations("classpath:db/migration")
+				.load()
+				.migrate();
+
+		try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+			statement.execute("""
+					INSERT INTO users (id, first_name, last_name, email, password, role, status, blocked, active,
+					                   is_account_confirmed, is_account_verified, failed_login_attempts,
+					                   created_at, updated_at)
+					SELECT gen_random_uuid(), 'Plan', 'User', 'plan-' || n || '@example.invalid', 'x', 'CUSTOMER',
+					       'VERIFIED', false, true, true, true, 0, now(), now()
+					FROM generate_series(1, :users) AS n
+					""".replace(":users", String.valueOf(USERS)));
+
+			statement.execute("""
+					INSERT INTO bookings (id, name, region, country, check_in_date, check_out_date, number_of_nights,
+					                      number_of_guests, number_of_rooms, price_per_night, subtotal, total_amount,
+					                      is_paid, status, is_cancelled, user_id, created_at, updated_at)
+					SELECT gen_random_uuid(),
+					       'Booking ' || n,
+					       'Region ' || (n % 1000),
+					       'Country ' || (n % 150),
+					       timestamp '2025-01-01' + (n % 730) * interval '1 day',
+					       timestamp '2025-01-03' + (n % 730) * interval '1 day',
+					       2, 2, 1, 60, 120, 120,
+					       n % 100 <> 0,
+					       (ARRAY['PENDING', 'CONFIRMED', 'CANCELLED', 'COMPLETED', 'APPROVED', 'REJECTED'])[1 + n % 6],
+					       CASE WHEN n % 20 = 0 THEN 'TRUE' ELSE 'FALSE' END,
+					       u.id,
+					       now() - n * interval '1 minute',
+					       now()
+					FROM generate_series(1, :bookings) AS n
+					JOIN (SELECT id, row_number() OVER (ORDER BY id) - 1 AS slot FROM users) u ON u.slot = n % :users
+					""".replace(":bookings", String.valueOf(BOOKINGS)).replace(":users", String.valueOf(USERS)));
+
+			statement.execute("UPDATE bookings SET region = 'Lagos Island', country = 'Nigeria' WHERE name IN ('Booking 7', 'Booking 8')");
+			statement.execute("ANALYZE bookings");
+		}
+	}
+
+	@Test
+	void statusListUsesStatusIndex() throws SQLException {
+		assertThat(plan("SELECT * FROM bookings WHERE status = 'APPROVED' ORDER BY created_at DESC LIMIT 20"))
+				.contains("idx_bookings_status_created_at");
+	}
+
+	@Test
+	void userFilterUsesUserIndex() throws SQLException {
+		assertThat(plan("""
+				SELECT * FROM bookings
+				WHERE user_id = (SELECT id FROM users ORDER BY id LIMIT 1)
+				ORDER BY created_at DESC
+				"""))
+				.contains("idx_bookings_user_id_created_at");
+	}
+
+	@Test
+	void keysetPageUsesCreatedAtIdIndex() throws SQLException {
+		assertThat(plan("""
+				SELECT * FROM bookings
+				WHERE created_at < now() - interval '1 day'
+				   OR (created_at = now() - interval '1 day' AND id < '00000000-0000-0000-0000-000000000000')
+				ORDER BY created_at DESC, id DESC
+				LIMIT 20
+				"""))
+				.contains("idx_bookings_created_at_id");
+	}
+
+	@Test
+	void checkInRangeUsesCheckInIndex() throws SQLException {
+		assertThat(plan("""
+				SELECT * FROM bookings
+				WHERE check_in_date >= timestamp '2025-03-01' AND check_in_date <= timestamp '2025-03-02'
+				"""))
+				.containsAnyOf("idx_bookings_check_in_check_out", "idx_bookings_active_check_in");
+	}
+
+	@Test
+	void unpaidFilterUsesPartialIndex() throws SQLException {
+		assertThat(plan("SELECT * FROM bookings WHERE is_paid = false ORDER BY created_at DESC LIMIT 20"))
+				.contains("idx_bookings_unpaid_created_at");
+	}
+
+	@Test
+	void regionSubstringUsesTrigramIndex() throws SQLException {
+		assertThat(plan("SELECT * FROM bookings WHERE lower(region) LIKE '%lagos%'"))
+				.contains("idx_bookings_region_trgm");
+	}
+
+	@Test
+	void countrySubstringUsesTrigramIndex() throws SQLException {
+		assertThat(plan("SELECT * FROM bookings WHERE lower(country) LIKE '%nigeria%'"))
+				.contains("idx_bookings_country_trgm");
+	}
+
+	@Test
+	void keywordPrefixUsesSearchVectorIndex() throws SQLException {
+		assertThat(plan("SELECT * FROM bookings WHERE search_vector @@ to_tsquery('simple', '''lag'':*')"))
+				.contains("idx_bookings_search_vector");
+	}
+
+	private static String plan(String sql) throws SQLException {
+		try (Connection connection = connect();
+			 Statement statement = connection.createStatement();
+			 ResultSet rs = statement.executeQuery("EXPLAIN (FORMAT JSON) " + sql)) {
+			rs.next();
+			return rs.getString(1);
+		}
+	}
+
+	private static Connection connect() throws SQLException {
+		return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+	}
+}
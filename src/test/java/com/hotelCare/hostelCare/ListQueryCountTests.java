@@ -0,0 +1,139 @@
+package com.hotelCare.hostelCare;
+
+import com.hotelCare.hostelCare.entity.booking.Booking;
+import com.hotelCare.hostelCare.entity.payment.Payment;
+import com.hotelCare.hostelCare.entity.review.Review;
+import com.hotelCare.hostelCare.entity.user.User;
+import com.hotelCare.hostelCare.enums.BookingStatus;
+import com.hotelCare.hostelCare.enums.CancelledBookingStatus;
+import com.hotelCare.hostelCare.enums.PaymentCurrency;
+import com.hotelCare.hostelCare.enums.PaymentStatus;
+import com.hotelCare.hostelCare.enums.ProviderType;
+import com.hotelCare.hostelCare.enums.ReviewStatus;
+import com.hotelCare.hostelCare.service.bookings.BookingService;
+import com.hotelCare.hostelCare.service.payment.PaymentService;
+import com.hotelCare.hostelCare.service.review.ReviewService;
+import com.hotelCare.hostelCare.service.user.UserService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fails when a list endpoint starts issuing a query per row again.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional
+class ListQueryCountTests {
+
+	private static final int ROWS = 5;
+	private static final long MAX_QUERIES = 2;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private BookingService bookingService;
+
+	@Autowired
+	private PaymentService paymentService;
+
+	@Autowired
+	private ReviewService reviewService;
+
+	@Autowired
+	private UserService userService;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void seed() {
+		for (int i = 0; i < ROWS; i++) {
+			User user = new User();
+			user.setFirstName("Query");
+			user.setLastName("Count");
+			user.setEmail("query-count-" + UUID.randomUUID() + "@example.invalid");
+			user.setPassword(UUID.randomUUID().toString());
+			entityManager.persist(user);
+
+			LocalDateTime checkIn = LocalDateTime.now().plusDays(10);
+			Booking booking = Booking.builder()
+					.name("Query count booking " + i)
+					.region("Region")
+					.country("Country")
+					.checkInDate(checkIn)
+					.checkOutDate(checkIn.plusDays(1))
+					.numberOfNights(1)
+					.numberOfGuests(1)
+					.numberOfRooms(1)
+					.pricePerNight(BigDecimal.TEN)
+					.subtotal(BigDecimal.TEN)
+					.totalAmount(BigDecimal.TEN)
+					.status(BookingStatus.APPROVED)
+					.isCancelled(CancelledBookingStatus.FALSE)
+					.user(user)
+					.build();
+			entityManager.persist(booking);
+
+			entityManager.persist(Payment.builder()
+					.booking(booking)
+					.user(user)
+					.amount(BigDecimal.TEN)
+					.currency(PaymentCurrency.USD)
+					.provider(ProviderType.STRIPE)
+					.status(PaymentStatus.SUCCEEDED)
+					.reference("QC-" + UUID.randomUUID())
+					.build());
+
+			entityManager.persist(Review.builder()
+					.booking(booking)
+					.user(user)
+					.rating(5)
+					.verified(true)
+					.status(ReviewStatus.APPROVED)
+					.helpfulCount(0)
+					.anonymous(false)
+					.deleted(false)
+					.build());
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void approvedBookingsUseBoundedQueries() {
+		assertThat(bookingService.fetchAllApprovedBookings()).hasSizeGreaterThanOrEqualTo(ROWS);
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_QUERIES);
+	}
+
+	@Test
+	void allPaymentsUseBoundedQueries() {
+		assertThat(paymentService.getAllPayments()).hasSizeGreaterThanOrEqualTo(ROWS);
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_QUERIES);
+	}
+
+	@Test
+	void approvedReviewsUseBoundedQueries() {
+		assertThat(reviewService.getApprovedReviews()).hasSizeGreaterThanOrEqualTo(ROWS);
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_QUERIES);
+	}
+
+	@Test
+	void allUsersUseBoundedQueries() {
+		assertThat(userService.getAllUsers()).hasSizeGreaterThanOrEqualTo(ROWS);
+		assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_QUERIES);
+	}
+}
@@ -0,0 +1,120 @@
+package com.hotelCare.hostelCare;
+
+import com.hotelCare.hostelCare.entity.payment.Payment;
+import com.hotelCare.hostelCare.entity.payment.PaymentOutboxEvent;
+import com.hotelCare.hostelCare.enums.OutboxStatus;
+import com.hotelCare.hostelCare.enums.PaymentStatus;
+import com.hotelCare.hostelCare.enums.ProviderType;
+import com.hotelCare.hostelCare.exception.BadRequestException;
+import com.hotelCare.hostelCare.mappers.paymentMapper.PaymentMapper;
+import com.hotelCare.hostelCare.repository.bookingRepository.BookingRepository;
+import com.hotelCare.hostelCare.repository.paymentRepository.PaymentBulkJobRepository;
+import com.hotelCare.hostelCare.repository.paymentRepository.PaymentOutboxRepository;
+import com.hotelCare.hostelCare.repository.paymentRepository.PaymentRepository;
+import com.hotelCare.hostelCare.repository.userRepository.UserRepository;
+import com.hotelCare.hostelCare.service.payment.PaymentServiceImpl;
+import com.hotelCare.hostelCare.service.statistics.EntityCounters;
+import com.hotelCare.hostelCare.utils.NdjsonStreamWriter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A Stripe cancel or refund that failed permanently must be retryable: the failed outbox row is
+ * put back in the queue instead of blocking every later attempt as "already in progress", under a
+ * new retry generation so Stripe does not replay the cached failure.
+ */
+@ExtendWith(MockitoExtension.class)
+class PaymentOutboxRetryTests {
+
+	@Mock
+	private PaymentRepository paymentRepository;
+
+	@Mock
+	private BookingRepository bookingRepository;
+
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private PaymentMapper paymentMapper;
+
+	@Mock
+	private NdjsonStreamWriter ndjsonStreamWriter;
+
+	@Mock
+	private EntityManager entityManager;
+
+	@Mock
+	private PaymentOutboxRepository paymentOutboxRepository;
+
+	@Mock
+	private PaymentBulkJobRepository paymentBulkJobRepository;
+
+	@Mock
+	private EntityCounters entityCounters;
+
+	@InjectMocks
+	private PaymentServiceImpl paymentService;
+
+	private Payment payment;
+
+	@BeforeEach
+	void setUp() {
+		payment = Payment.builder()
+				.id(UUID.randomUUID())
+				.reference("PAY-RETRY")
+				.provider(ProviderType.STRIPE)
+				.stripePaymentIntentId("pi_retry")
+				.status(PaymentStatus.PENDING)
+				.amount(BigDecimal.TEN)
+				.build();
+		when(paymentRepository.findById(payment.getId())).thenReturn(Optional.of(payment));
+		when(paymentRepository.save(any(Payment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+	}
+
+	@Test
+	void failedCancelCanBeRetried() {
+		when(paymentOutboxRepository.findByIdempotencyKey("PAY-RETRY:CANCEL")).thenReturn(Optional.empty());
+		paymentService.cancelPayment(payment.getId(), "first try");
+
+		ArgumentCaptor<PaymentOutboxEvent> saved = ArgumentCaptor.forClass(PaymentOutboxEvent.class);
+		verify(paymentOutboxRepository).save(saved.capture());
+		PaymentOutboxEvent event = saved.getValue();
+		assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+		assertThat(event.getRetryGeneration()).isZero();
+
+		when(paymentOutboxRepository.findByIdempotencyKey("PAY-RETRY:CANCEL")).thenReturn(Optional.of(event));
+		assertThatThrownBy(() -> paymentService.cancelPayment(payment.getId(), "while pending"))
+				.isInstanceOf(BadRequestException.class);
+
+		event.setStatus(OutboxStatus.FAILED);
+		event.setAttempts(5);
+		event.setLastError("No such payment_intent");
+
+		paymentService.cancelPayment(payment.getId(), "operator retry");
+
+		assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+		assertThat(event.getAttempts()).isZero();
+		assertThat(event.getLastError()).isNull();
+		assertThat(event.getReason()).isEqualTo("operator retry");
+		assertThat(event.getRetryGeneration()).isEqualTo(1);
+		verify(paymentOutboxRepository, times(1)).save(any(PaymentOutboxEvent.class));
+	}
+}
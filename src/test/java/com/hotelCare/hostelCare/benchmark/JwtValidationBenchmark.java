@@ -0,0 +1,87 @@
+package com.hotelCare.hostelCare.benchmark;
+
+import com.hotelCare.hostelCare.config.JWTConfig.JWTTokenGenerationLogic;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Access-token validation cost before and after reusing the signing key and parser and caching
+ * verified claims: a parser built per call (the old code), one shared parser, and
+ * {@link JWTTokenGenerationLogic#validateToken} with a warm claims cache. Not part of the test
+ * run; start it from the IDE or with {@code java -cp target/test-classes:<test classpath> ...JwtValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+	private static final String SECRET = "benchmark-secret-key-that-is-at-least-256-bits-long";
+
+	private JWTTokenGenerationLogic jwtTokenGenerationLogic;
+	private JwtParser sharedParser;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtTokenGenerationLogic = new JWTTokenGenerationLogic();
+		ReflectionTestUtils.setField(jwtTokenGenerationLogic, "jwtSecretKey", SECRET);
+		ReflectionTestUtils.setField(jwtTokenGenerationLogic, "accessTokenExpirationMs", TimeUnit.HOURS.toMillis(1));
+		ReflectionTestUtils.setField(jwtTokenGenerationLogic, "refreshTokenExpirationMs", TimeUnit.DAYS.toMillis(30));
+		ReflectionTestUtils.setField(jwtTokenGenerationLogic, "claimsCacheMaxSize", 10_000);
+		ReflectionTestUtils.invokeMethod(jwtTokenGenerationLogic, "init");
+
+		sharedParser = Jwts.parser()
+				.verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+				.build();
+		token = jwtTokenGenerationLogic.generateAccessToken("benchmark@example.invalid", "CUSTOMER");
+		jwtTokenGenerationLogic.validateToken(token);
+	}
+
+	@Benchmark
+	public Claims parserPerCall() {
+		return Jwts.parser()
+				.verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+				.build()
+				.parseSignedClaims(token)
+				.getPayload();
+	}
+
+	@Benchmark
+	public Claims sharedParser() {
+		return sharedParser.parseSignedClaims(token).getPayload();
+	}
+
+	@Benchmark
+	public Claims sharedParserWithClaimsCache() {
+		return jwtTokenGenerationLogic.validateToken(token);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(JwtValidationBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+}
@@ -0,0 +1,74 @@
+package com.hotelCare.hostelCare.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one password hash and one verification per encoder setting, to pick
+ * {@code security.password.*} values for the target hardware. Not part of the test run; start it
+ * from the IDE or with {@code java -cp target/test-classes:<test classpath> ...PasswordEncoderBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PasswordEncoderBenchmark {
+
+	private static final String PASSWORD = "correct horse battery staple";
+
+	@Param({"bcrypt-8", "bcrypt-10", "bcrypt-12", "argon2-19456-2", "argon2-65536-3", "pbkdf2-310000", "pbkdf2-600000"})
+	private String encoder;
+
+	private PasswordEncoder passwordEncoder;
+	private String hash;
+
+	@Setup
+	public void setUp() {
+		String[] parts = encoder.split("-");
+		passwordEncoder = switch (parts[0]) {
+			case "bcrypt" -> new BCryptPasswordEncoder(Integer.parseInt(parts[1]));
+			case "argon2" -> new Argon2PasswordEncoder(16, 32, 1, Integer.parseInt(parts[1]), Integer.parseInt(parts[2]));
+			case "pbkdf2" -> new Pbkdf2PasswordEncoder("", 16, Integer.parseInt(parts[1]),
+					Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+			default -> throw new IllegalArgumentException(encoder);
+		};
+		hash = passwordEncoder.encode(PASSWORD);
+	}
+
+	@Benchmark
+	public String encode() {
+		return passwordEncoder.encode(PASSWORD);
+	}
+
+	@Benchmark
+	public boolean matches() {
+		return passwordEncoder.matches(PASSWORD, hash);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(PasswordEncoderBenchmark.class.getSimpleName())
+				.build())
+				.run();
+	}
+}
@@ -0,0 +1,26 @@
+package com.hotelCare.hostelCare.benchmark;
+
+import com.hotelCare.hostelCare.HostelCareApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Map;
+
+/**
+ * Starts the application with {@link StubPaymentGateway} in place of Stripe, runs
+ * {@link PaymentBenchmarkRunner} once and exits. Neither class is a component, so they are never
+ * picked up by the regular application or the test context. Needs the usual database and JWT
+ * settings; the Stripe key defaults to a dummy value because no call reaches Stripe. Tune it with
+ * {@code payment.stub.*} and {@code payment.benchmark.*}, e.g. {@code --payment.benchmark.operations=2000}.
+ */
+public class PaymentBenchmarkApplication {
+
+	public static void main(String[] args) {
+		ConfigurableApplicationContext context = new SpringApplicationBuilder(
+				HostelCareApplication.class, StubPaymentGateway.class, PaymentBenchmarkRunner.class)
+				.properties(Map.of("STRIPE_API_KEY", "sk_test_benchmark"))
+				.run(args);
+		System.exit(SpringApplication.exit(context));
+	}
+}
@@ -0,0 +1,225 @@
+package com.hotelCare.hostelCare.benchmark;
+import com.hotelCare.hostelCare.dto.payment.PaymentRequestDto;
+import com.hotelCare.hostelCare.entity.booking.Booking;
+import com.hotelCare.hostelCare.entity.user.User;
+import com.hotelCare.hostelCare.enums.AccountStatus;
+import com.hotelCare.hostelCare.enums.BookingStatus;
+import com.hotelCare.hostelCare.enums.CancelledBookingStatus;
+import com.hotelCare.hostelCare.enums.OutboxStatus;
+import com.hotelCare.hostelCare.enums.PaymentCurrency;
+import com.hotelCare.hostelCare.enums.PaymentMethodStatus;
+import com.hotelCare.hostelCare.enums.PaymentStatus;
+import com.hotelCare.hostelCare.enums.ProviderType;
+import com.hotelCare.hostelCare.enums.UserRole;
+import com.hotelCare.hostelCare.repository.bookingRepository.BookingRepository;
+import com.hotelCare.hostelCare.repository.paymentRepository.PaymentOutboxRepository;
+import com.hotelCare.hostelCare.repository.userRepository.UserRepository;
+import com.hotelCare.hostelCare.service.payment.PaymentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntConsumer;
+
+/**
+ * Load harness for the payment path, started by {@link PaymentBenchmarkApplication} together with
+ * {@link StubPaymentGateway}. Seeds its own user and bookings, so point it at a throwaway
+ * database. Drives create, cancel and refund at a fixed concurrency and logs p50/p99 latency,
+ * outbox drain time and Hikari connection acquire time for each phase.
+ */
+@RequiredArgsConstructor
+public class PaymentBenchmarkRunner implements CommandLineRunner {
+
+	private static final List<OutboxStatus> OPEN = List.of(OutboxStatus.PENDING, OutboxStatus.IN_PROGRESS);
+
+	private final PaymentService paymentService;
+	private final UserRepository userRepository;
+	private final BookingRepository bookingRepository;
+	private final PaymentOutboxRepository paymentOutboxRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final MeterRegistry meterRegistry;
+
+	@Value("${payment.benchmark.operations:500}")
+	private int operations;
+
+	@Value("${payment.benchmark.concurrency:16}")
+	private int concurrency;
+
+	@Value("${payment.benchmark.drain-timeout:PT5M}")
+	private Duration drainTimeout;
+
+	private static final Logger log = LoggerFactory.getLogger(PaymentBenchmarkRunner.class);
+
+	@Override
+	public void run(String... args) throws Exception {
+		log.info("🚀 Payment benchmark starting: {} operations, concurrency {}", operations, concurrency);
+
+		Fixtures fixtures = seedFixtures();
+		List<UUID> bookingIds = fixtures.bookingIds();
+		UUID userId = fixtures.userId();
+
+		List<UUID> paymentIds = new ArrayList<>(Arrays.asList(new UUID[operations]));
+		runPhase("create", bookingIds, index -> paymentIds.set(index, paymentService.createPayment(new PaymentRequestDto(
+				bookingIds.get(index),
+				userId,
+				BigDecimal.valueOf(120),
+				PaymentCurrency.USD,
+				ProviderType.STRIPE,
+				"Benchmark payment",
+				"card"
+		)).id()), paymentIds);
+
+		List<UUID> toCancel = paymentIds.subList(0, paymentIds.size() / 2);
+		List<UUID> toRefund = paymentIds.subList(paymentIds.size() / 2, paymentIds.size());
+
+		runPhase("cancel", toCancel, index -> paymentService.cancelPayment(toCancel.get(index), "Benchmark cancel"), toCancel);
+
+		toRefund.stream()
+				.filter(id -> id != null)
+				.forEach(id -> paymentService.updatePaymentStatus(id, PaymentStatus.SUCCEEDED, "Benchmark settlement"));
+		runPhase("refund", toRefund, index -> paymentService.refundPayment(toRefund.get(index), "Benchmark refund"), toRefund);
+
+		log.info("✅ Payment benchmark finished.");
+	}
+
+	private Fixtures seedFixtures() {
+		return transactionTemplate.execute(status -> {
+			User user = new User();
+			user.setFirstName("Benchmark");
+			user.setLastName("User");
+			user.setEmail("benchmark-" + UUID.randomUUID() + "@example.invalid");
+			user.setPassword(UUID.randomUUID().toString());
+			user.setRole(UserRole.CUSTOMER);
+			user.setStatus(AccountStatus.VERIFIED);
+			User savedUser = userRepository.save(user);
+
+			LocalDateTime checkIn = LocalDateTime.now().plusDays(30);
+			List<Booking> bookings = new ArrayList<>(operations);
+			for (int i = 0; i < operations; i++) {
+				bookings.add(Booking.builder()
+						.name("Benchmark booking " + i)
+						.region("Benchmark")
+						.country("Benchmark")
+						.checkInDate(checkIn)
+						.checkOutDate(checkIn.plusDays(2))
+						.numberOfNights(2)
+						.numberOfGuests(2)
+						.numberOfRooms(1)
+						.pricePerNight(BigDecimal.valueOf(60))
+						.subtotal(BigDecimal.valueOf(120))
+						.totalAmount(BigDecimal.valueOf(120))
+						.paymentMethod(PaymentMethodStatus.CARD)
+						.isPaid(false)
+						.status(BookingStatus.PENDING)
+						.isCancelled(CancelledBookingStatus.FALSE)
+						.user(savedUser)
+						.build());
+			}
+			return new Fixtures(savedUser.getId(), bookingRepository.saveAll(bookings).stream().map(Booking::getId).toList());
+		});
+	}
+
+	private void runPhase(String name, List<?> items, IntConsumer operation, List<UUID> paymentIds) throws Exception {
+		int count = items.size();
+		long[] latencies = new long[count];
+		boolean[] failed = new boolean[count];
+		AcquireSnapshot before = AcquireSnapshot.of(meterRegistry);
+
+		long start = System.nanoTime();
+		ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+		try {
+			List<Future<?>> futures = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				int index = i;
+				futures.add(pool.submit(() -> {
+					long opStart = System.nanoTime();
+					try {
+						operation.accept(index);
+					} catch (RuntimeException e) {
+						failed[index] = true;
+						log.warn("⚠️ {} #{} failed: {}", name, index, e.getMessage());
+					} finally {
+						latencies[index] = System.nanoTime() - opStart;
+					}
+				}));
+			}
+			for (Future<?> future : futures) future.get();
+		} finally {
+			pool.shutdown();
+		}
+		long callsNanos = System.nanoTime() - start;
+
+		long drainNanos = awaitOutboxDrain(paymentIds);
+		AcquireSnapshot after = AcquireSnapshot.of(meterRegistry);
+
+		Arrays.sort(latencies);
+		long failures = 0;
+		for (boolean f : failed) if (f) failures++;
+
+		log.info("📊 {}: {} calls, {} failed, {} ops/s | p50 {} ms, p99 {} ms, max {} ms | outbox drained in {} ms",
+				name,
+				count,
+				failures,
+				String.format("%.1f", count / (callsNanos / 1_000_000_000.0)),
+				millis(percentile(latencies, 0.50)),
+				millis(percentile(latencies, 0.99)),
+				millis(count == 0 ? 0 : latencies[count - 1]),
+				TimeUnit.NANOSECONDS.toMillis(drainNanos));
+		log.info("📊 {}: hikari acquire {} waits, mean {} ms, max {} ms",
+				name,
+				after.count() - before.count(),
+				millis(after.count() == before.count() ? 0 : (after.totalNanos() - before.totalNanos()) / (after.count() - before.count())),
+				millis(after.maxNanos()));
+	}
+
+	private long awaitOutboxDrain(List<UUID> paymentIds) throws InterruptedException {
+		long start = System.nanoTime();
+		long deadline = start + drainTimeout.toNanos();
+		List<UUID> ids = paymentIds.stream().filter(id -> id != null).toList();
+		if (ids.isEmpty()) return 0;
+
+		while (paymentOutboxRepository.countByPaymentIdInAndStatusIn(ids, OPEN) > 0) {
+			if (System.nanoTime() > deadline) {
+				log.warn("⚠️ Outbox not drained within {}", drainTimeout);
+				break;
+			}
+			Thread.sleep(100);
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static long percentile(long[] sorted, double p) {
+		if (sorted.length == 0) return 0;
+		int rank = (int) Math.ceil(p * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+	}
+
+	private static String millis(double nanos) {
+		return String.format("%.2f", nanos / 1_000_000.0);
+	}
+
+	private record Fixtures(UUID userId, List<UUID> bookingIds) {}
+
+	private record AcquireSnapshot(long count, double totalNanos, double maxNanos) {
+		static AcquireSnapshot of(MeterRegistry meterRegistry) {
+			Timer timer = meterRegistry.find("hikaricp.connections.acquire").timer();
+			if (timer == null) return new AcquireSnapshot(0, 0, 0);
+			return new AcquireSnapshot(timer.count(), timer.totalTime(TimeUnit.NANOSECONDS), timer.max(TimeUnit.NANOSECONDS));
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.hotelCare.hostelCare.benchmark;
+import com.hotelCare.hostelCare.dto.payment.PaymentCommand;
+import com.hotelCare.hostelCare.dto.payment.PaymentGatewayResult;
+import com.hotelCare.hostelCare.enums.PaymentStatus;
+import com.hotelCare.hostelCare.service.payment.PaymentGateway;
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.StripeException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process stand-in for Stripe, registered by {@link PaymentBenchmarkApplication} ahead of the
+ * real gateway. Answers like Stripe after a configurable latency and fails a configurable share
+ * of calls with a retriable connection error. Ids are derived from the idempotency key, so a
+ * retried command gets the same PaymentIntent back, as it would from Stripe.
+ */
+@Primary
+public class StubPaymentGateway implements PaymentGateway {
+
+	@Value("${payment.stub.latency:PT0.3S}")
+	private Duration latency;
+
+	@Value("${payment.stub.jitter:PT0.1S}")
+	private Duration jitter;
+
+	@Value("${payment.stub.failure-rate:0.0}")
+	private double failureRate;
+
+	@Override
+	public PaymentGatewayResult execute(PaymentCommand command) throws StripeException {
+		simulateLatency();
+
+		if (failureRate > 0 && ThreadLocalRandom.current().nextDouble() < failureRate) {
+			throw new ApiConnectionException("Injected stub failure for " + command.type() + " " + command.idempotencyKey());
+		}
+
+		return switch (command.type()) {
+			case CREATE_INTENT -> new PaymentGatewayResult(
+					PaymentStatus.PENDING, stubId("pi", command.idempotencyKey()), null, "Stub PaymentIntent created");
+			case CANCEL -> new PaymentGatewayResult(
+					PaymentStatus.CANCELLED, command.stripePaymentIntentId(), null, null);
+			case REFUND -> new PaymentGatewayResult(
+					PaymentStatus.REFUNDED,
+					command.stripePaymentIntentId(),
+					command.stripeChargeId() != null ? command.stripeChargeId() : stubId("ch", command.stripePaymentIntentId()),
+					"Refund created: " + stubId("re", command.idempotencyKey()));
+		};
+	}
+
+	private void simulateLatency() {
+		long millis = latency.toMillis();
+		long jitterMillis = jitter.toMillis();
+		if (jitterMillis > 0) {
+			millis += ThreadLocalRandom.current().nextLong(-jitterMillis, jitterMillis + 1);
+		}
+		if (millis <= 0) return;
+
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static String stubId(String prefix, String seed) {
+		String value = seed == null ? UUID.randomUUID().toString() : seed;
+		return prefix + "_stub_" + UUID.nameUUIDFromBytes(value.getBytes(StandardCharsets.UTF_8)).toString().replace("-", "");
+	}
+}